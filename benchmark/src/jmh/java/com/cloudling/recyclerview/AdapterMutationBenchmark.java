@@ -0,0 +1,89 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+
+/**
+ * 描述：RecyclerViewAdapter增删改移的耗时（注册了一个空的数据监听，相当于已经设置给RecyclerView）。
+ * 每个方法执行后数据个数不变，保证每次测量的数据量一致
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@State(Scope.Thread)
+public class AdapterMutationBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    /**
+     * 存放数据的容器：ArrayList或GapBufferList
+     */
+    @Param({"array", "gap"})
+    public String backing;
+
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private ArrayList<Integer> mList;
+    private final Integer mItem = -1;
+
+    @Setup
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new NoOpAdapter());
+        if ("gap".equals(backing)) {
+            mAdapter.setBackingList(new GapBufferList<Integer>());
+        }
+        mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+        });
+        mList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            mList.add(i);
+        }
+        mAdapter.addAll(mList);
+    }
+
+    @Benchmark
+    public void addAll() {
+        mAdapter.addAll(mList);
+    }
+
+    @Benchmark
+    public void addRemoveFront() {
+        mAdapter.add(mItem, 0);
+        mAdapter.remove(0);
+    }
+
+    @Benchmark
+    public void addRemoveMiddle() {
+        mAdapter.add(mItem, size / 2);
+        mAdapter.remove(size / 2);
+    }
+
+    @Benchmark
+    public void addRemoveEnd() {
+        mAdapter.add(mItem, size);
+        mAdapter.remove(size);
+    }
+
+    @Benchmark
+    public void moveMiddleToEnd() {
+        mAdapter.move(size / 2, size - 1);
+    }
+
+    static class NoOpAdapter implements IFAdapter<Integer> {
+        @Override
+        public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+        }
+
+        @Override
+        public ViewDataBinding createView(ViewGroup parent, int type) {
+            return null;
+        }
+    }
+}
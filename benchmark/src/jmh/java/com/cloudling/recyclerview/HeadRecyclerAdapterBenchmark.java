@@ -0,0 +1,69 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+
+import org.objenesis.ObjenesisStd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+
+/**
+ * 描述：HeadRecyclerAdapter的位置映射（getItemViewType、isFooter遍历整个列表）和添加HeaderView的耗时
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@State(Scope.Thread)
+public class HeadRecyclerAdapterBenchmark {
+    private static final int FIXED_VIEW_COUNT = 5;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private HeadRecyclerAdapter mHeadAdapter;
+    private View mHeader;
+
+    @Setup
+    public void setUp() {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new AdapterMutationBenchmark.NoOpAdapter());
+        ArrayList<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        mHeadAdapter = new HeadRecyclerAdapter(adapter);
+        /*只作为引用保存，不需要Context*/
+        ObjenesisStd objenesis = new ObjenesisStd();
+        for (int i = 0; i < FIXED_VIEW_COUNT; i++) {
+            mHeadAdapter.addHeaderView(objenesis.newInstance(View.class));
+            mHeadAdapter.addFooterView(objenesis.newInstance(View.class));
+        }
+        mHeader = objenesis.newInstance(View.class);
+    }
+
+    @Benchmark
+    public void getItemViewTypeAll(Blackhole blackhole) {
+        int count = mHeadAdapter.getItemCount();
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(mHeadAdapter.getItemViewType(i));
+        }
+    }
+
+    @Benchmark
+    public void isFooterAll(Blackhole blackhole) {
+        int count = mHeadAdapter.getItemCount();
+        for (int i = 0; i < count; i++) {
+            blackhole.consume(mHeadAdapter.isFooter(i));
+        }
+    }
+
+    @Benchmark
+    public void addRemoveHeader() {
+        mHeadAdapter.addHeaderView(mHeader);
+        mHeadAdapter.removeHeaderView(mHeader);
+    }
+}
@@ -0,0 +1,171 @@
+package com.cloudling.recyclerview;
+
+import androidx.collection.SparseArrayCompat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 描述：按viewType统计创建（onCreateViewHolder）和绑定（onBindViewHolder）耗时（需在主线程使用）。
+ * 耗时按固定的指数区间计数，记录时不分配对象；不设置时适配器不做任何统计
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public final class AdapterMetrics {
+    /**
+     * 区间个数，第i个区间为[2^(i-1), 2^i)微秒（第0个为小于1微秒），最后一个区间包含所有更大的值
+     */
+    public static final int BUCKET_COUNT = 18;
+    private final SparseArrayCompat<TypeStats> mStats = new SparseArrayCompat<>();
+
+    void recordCreate(int viewType, long nanos) {
+        statsOf(viewType).mCreate.record(nanos);
+    }
+
+    void recordBind(int viewType, long nanos) {
+        statsOf(viewType).mBind.record(nanos);
+    }
+
+    /**
+     * 当前统计的拷贝，之后的记录不会影响返回的结果
+     */
+    public List<TypeStats> snapshot() {
+        List<TypeStats> result = new ArrayList<>(mStats.size());
+        for (int i = 0; i < mStats.size(); i++) {
+            result.add(mStats.valueAt(i).copy());
+        }
+        return result;
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public void reset() {
+        for (int i = 0; i < mStats.size(); i++) {
+            mStats.valueAt(i).mCreate.reset();
+            mStats.valueAt(i).mBind.reset();
+        }
+    }
+
+    /**
+     * 耗时对应的区间
+     */
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    private TypeStats statsOf(int viewType) {
+        TypeStats stats = mStats.get(viewType);
+        if (stats == null) {
+            /*每种viewType只在第一次记录时创建*/
+            stats = new TypeStats(viewType);
+            mStats.put(viewType, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * 某个viewType的统计
+     */
+    public static final class TypeStats {
+        private final int mViewType;
+        private final Histogram mCreate;
+        private final Histogram mBind;
+
+        TypeStats(int viewType) {
+            this(viewType, new Histogram(), new Histogram());
+        }
+
+        private TypeStats(int viewType, Histogram create, Histogram bind) {
+            this.mViewType = viewType;
+            this.mCreate = create;
+            this.mBind = bind;
+        }
+
+        public int getViewType() {
+            return mViewType;
+        }
+
+        /**
+         * 创建耗时
+         */
+        public Histogram getCreate() {
+            return mCreate;
+        }
+
+        /**
+         * 绑定耗时
+         */
+        public Histogram getBind() {
+            return mBind;
+        }
+
+        TypeStats copy() {
+            return new TypeStats(mViewType, mCreate.copy(), mBind.copy());
+        }
+    }
+
+    /**
+     * 耗时分布
+     */
+    public static final class Histogram {
+        private final long[] mBuckets = new long[BUCKET_COUNT];
+        private long mCount;
+        private long mTotalNanos;
+        private long mMaxNanos;
+
+        void record(long nanos) {
+            mBuckets[bucketOf(nanos)]++;
+            mCount++;
+            mTotalNanos += nanos;
+            if (nanos > mMaxNanos) {
+                mMaxNanos = nanos;
+            }
+        }
+
+        void reset() {
+            Arrays.fill(mBuckets, 0);
+            mCount = 0;
+            mTotalNanos = 0;
+            mMaxNanos = 0;
+        }
+
+        Histogram copy() {
+            Histogram copy = new Histogram();
+            System.arraycopy(mBuckets, 0, copy.mBuckets, 0, BUCKET_COUNT);
+            copy.mCount = mCount;
+            copy.mTotalNanos = mTotalNanos;
+            copy.mMaxNanos = mMaxNanos;
+            return copy;
+        }
+
+        /**
+         * 第index个区间的次数，区间见BUCKET_COUNT
+         */
+        public long getBucket(int index) {
+            return mBuckets[index];
+        }
+
+        /**
+         * 第index个区间的上限（微秒，不包含），最后一个区间返回Long.MAX_VALUE
+         */
+        public static long getBucketUpperBoundMicros(int index) {
+            return index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << index;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getTotalNanos() {
+            return mTotalNanos;
+        }
+
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import androidx.annotation.NonNull;
 import androidx.databinding.ViewDataBinding;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.List;
+
 /**
  * 联系: 1966353889@qq.com
  * 日期: 2019/7/16
@@ -21,5 +23,12 @@ public class BaseViewHolder<T> extends RecyclerView.ViewHolder {
 
     }
 
+    /**
+     * 局部刷新，默认整项刷新
+     */
+    public void setData(T data, int position, int type, List<Object> payloads) {
+        setData(data, position, type);
+    }
+
 
 }
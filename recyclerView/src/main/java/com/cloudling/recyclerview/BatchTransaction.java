@@ -0,0 +1,140 @@
+package com.cloudling.recyclerview;
+
+import java.util.List;
+
+/**
+ * 描述：批量操作的事务，数据立即修改，通知先记录下来，事务结束时合并成最少的范围通知一次性分发
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public final class BatchTransaction<T> {
+    private final List<T> data;
+    private final UpdateOpMerger mMerger;
+    private boolean mClosed;
+
+    BatchTransaction(List<T> data, UpdateOpMerger merger) {
+        this.data = data;
+        this.mMerger = merger;
+    }
+
+    /**
+     * 添加数据到末尾
+     */
+    public BatchTransaction<T> add(T single) {
+        return add(single, data.size());
+    }
+
+    /**
+     * 添加数据
+     *
+     * @param index 插入的位置，超出范围时插入到开头或末尾
+     */
+    public BatchTransaction<T> add(T single, int index) {
+        checkOpen();
+        if (single != null) {
+            index = clampInsertIndex(index);
+            data.add(index, single);
+            mMerger.onInserted(index, 1);
+        }
+        return this;
+    }
+
+    /**
+     * 添加数据到末尾
+     */
+    public BatchTransaction<T> add(List<T> list) {
+        return add(list, data.size());
+    }
+
+    /**
+     * 添加数据
+     *
+     * @param index 插入的位置，超出范围时插入到开头或末尾
+     */
+    public BatchTransaction<T> add(List<T> list, int index) {
+        checkOpen();
+        if (list != null && !list.isEmpty()) {
+            index = clampInsertIndex(index);
+            data.addAll(index, list);
+            mMerger.onInserted(index, list.size());
+        }
+        return this;
+    }
+
+    /**
+     * 删除数据
+     */
+    public BatchTransaction<T> remove(int index) {
+        return removeRange(index, 1);
+    }
+
+    /**
+     * 删除一段连续的数据
+     */
+    public BatchTransaction<T> removeRange(int from, int count) {
+        checkOpen();
+        if (from >= 0 && from < data.size() && count > 0) {
+            int to = Math.min(data.size(), from + count);
+            data.subList(from, to).clear();
+            mMerger.onRemoved(from, to - from);
+        }
+        return this;
+    }
+
+    /**
+     * 把fromPosition位置的数据移到toPosition位置
+     */
+    public BatchTransaction<T> move(int fromPosition, int toPosition) {
+        checkOpen();
+        if (fromPosition >= 0 && toPosition >= 0 && fromPosition < data.size() && toPosition < data.size()) {
+            data.add(toPosition, data.remove(fromPosition));
+            mMerger.onMoved(fromPosition, toPosition);
+        }
+        return this;
+    }
+
+    /**
+     * 更新数据
+     *
+     * @param payload 局部刷新的payload，为null时整项刷新
+     */
+    public BatchTransaction<T> update(int index, T single, Object payload) {
+        checkOpen();
+        if (index >= 0 && index < data.size()) {
+            data.set(index, single);
+            mMerger.onChanged(index, 1, payload);
+        }
+        return this;
+    }
+
+    /**
+     * 当前的数据个数（包含本次事务中的修改）
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * 当前的数据（包含本次事务中的修改）
+     */
+    public T get(int index) {
+        return data.get(index);
+    }
+
+    void close() {
+        mClosed = true;
+    }
+
+    private int clampInsertIndex(int index) {
+        if (index < 0) {
+            return 0;
+        }
+        return Math.min(index, data.size());
+    }
+
+    private void checkOpen() {
+        if (mClosed) {
+            throw new IllegalStateException("BatchTransaction已结束，不能再修改数据");
+        }
+    }
+}
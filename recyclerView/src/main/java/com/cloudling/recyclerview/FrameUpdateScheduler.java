@@ -0,0 +1,321 @@
+package com.cloudling.recyclerview;
+
+import android.view.Choreographer;
+
+import androidx.collection.SparseArrayCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * 描述：高频刷新（如行情列表每秒几十上百次的单项更新）的合帧调度，同一位置在一帧内的多次更新只保留最后一次，
+ * 每帧（Choreographer回调）在同一个batch中执行一次，相邻位置的刷新合并成一次范围通知；
+ * 可限制每个item每秒最多刷新的次数，超出的更新推迟到允许的帧并继续合并。
+ * update可在任意线程调用，位置是主线程上当前数据中的位置；增删移动数据时待执行的更新会跟随位置移动，
+ * 被删除的位置上的更新会丢弃
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public final class FrameUpdateScheduler<T> extends RecyclerView.AdapterDataObserver
+        implements Runnable, Choreographer.FrameCallback {
+    /**
+     * 帧时间的误差，避免60次/秒这样的限制因为帧间隔抖动被推迟一帧
+     */
+    private static final long FRAME_TOLERANCE_NANOS = 1_000_000L;
+    private static final int SHIFT_INSERT = 0;
+    private static final int SHIFT_REMOVE = 1;
+    private static final int SHIFT_MOVE = 2;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private final Object mLock = new Object();
+    /**
+     * position -> 该位置待执行的更新和上一次刷新的帧时间
+     */
+    private SparseArrayCompat<Slot<T>> mSlots = new SparseArrayCompat<>();
+    /**
+     * 重建mSlots时写入的另一个容器，写完后和mSlots交换，每帧不用新建
+     */
+    private SparseArrayCompat<Slot<T>> mSpare = new SparseArrayCompat<>();
+    /**
+     * 同一个item两次刷新的最小间隔，0为不限制
+     */
+    private long mMinIntervalNanos;
+    /**
+     * 是否已经安排了下一帧执行
+     */
+    private boolean mScheduled;
+    private long mAppliedCount;
+    private long mMergedCount;
+    private long mDroppedCount;
+
+    public FrameUpdateScheduler(RecyclerViewAdapter<T> adapter) {
+        this.mAdapter = adapter;
+        adapter.registerAdapterDataObserver(this);
+    }
+
+    /**
+     * 设置每个item每秒最多刷新的次数，小于等于0为不限制（每帧最多一次）
+     */
+    public void setMaxUpdateRate(int updatesPerSecond) {
+        synchronized (mLock) {
+            mMinIntervalNanos = updatesPerSecond <= 0 ? 0 : 1_000_000_000L / updatesPerSecond;
+        }
+    }
+
+    /**
+     * 更新数据（任意线程），在下一帧刷新；这一帧内同一位置的更新只保留最后一次。
+     * index是主线程上已经生效的数据中的位置，其他线程通过适配器排队、还没执行的增删移动不算在内：
+     * 这些操作执行时待刷新的位置会跟着移动，所以不要按排队后的数据计算位置（同一线程先增删再update时应在主线程调用）
+     *
+     * @param payload 局部刷新的payload，为null时整项刷新；被合并的更新payload不同时整项刷新
+     */
+    public void update(int index, T single, Object payload) {
+        if (index < 0) {
+            return;
+        }
+        synchronized (mLock) {
+            Slot<T> slot = mSlots.get(index);
+            if (slot == null) {
+                slot = new Slot<>();
+                mSlots.put(index, slot);
+            }
+            if (slot.pending) {
+                mMergedCount++;
+                if (slot.payload != payload) {
+                    slot.payload = null;
+                }
+            } else {
+                slot.pending = true;
+                slot.payload = payload;
+            }
+            slot.data = single;
+            if (!mScheduled) {
+                mScheduled = true;
+                if (PendingOpQueue.isMainThread()) {
+                    run();
+                } else {
+                    PendingOpQueue.mainHandler().post(this);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        /*Choreographer是线程相关的，需要在主线程获取*/
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(final long frameTimeNanos) {
+        /*batch会先执行其他线程排队的增删操作，位置偏移在这之前已经同步到mSlots*/
+        mAdapter.batch(tx -> apply(tx, frameTimeNanos));
+    }
+
+    private void apply(BatchTransaction<T> tx, long frameTimeNanos) {
+        synchronized (mLock) {
+            mScheduled = false;
+            SparseArrayCompat<Slot<T>> kept = mSpare;
+            boolean deferred = false;
+            int size = tx.size();
+            for (int i = 0; i < mSlots.size(); i++) {
+                int position = mSlots.keyAt(i);
+                Slot<T> slot = mSlots.valueAt(i);
+                boolean limited = slot.lastApplied != 0
+                        && frameTimeNanos - slot.lastApplied < mMinIntervalNanos - FRAME_TOLERANCE_NANOS;
+                if (!slot.pending) {
+                    /*只保留还在限制间隔内的刷新时间*/
+                    if (limited) {
+                        kept.append(position, slot);
+                    }
+                    continue;
+                }
+                if (position >= size) {
+                    mDroppedCount++;
+                    continue;
+                }
+                if (limited) {
+                    /*刷新太频繁，推迟到后面的帧，期间的更新继续合并*/
+                    kept.append(position, slot);
+                    deferred = true;
+                    continue;
+                }
+                tx.update(position, slot.data, slot.payload);
+                mAppliedCount++;
+                slot.pending = false;
+                slot.data = null;
+                slot.payload = null;
+                slot.lastApplied = frameTimeNanos;
+                if (mMinIntervalNanos > 0) {
+                    kept.append(position, slot);
+                }
+            }
+            swapSlots();
+            if (deferred) {
+                mScheduled = true;
+                run();
+            }
+        }
+    }
+
+    /**
+     * 取消所有待执行的更新并停止监听适配器（不再使用时调用）
+     */
+    public void release() {
+        mAdapter.unregisterAdapterDataObserver(this);
+        synchronized (mLock) {
+            mDroppedCount += getPendingCountLocked();
+            mSlots.clear();
+            if (mScheduled) {
+                mScheduled = false;
+                PendingOpQueue.mainHandler().removeCallbacks(this);
+                if (PendingOpQueue.isMainThread()) {
+                    Choreographer.getInstance().removeFrameCallback(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * 已经刷新的更新次数
+     */
+    public long getAppliedCount() {
+        synchronized (mLock) {
+            return mAppliedCount;
+        }
+    }
+
+    /**
+     * 被同一位置后来的更新覆盖（合并）掉的更新次数
+     */
+    public long getMergedCount() {
+        synchronized (mLock) {
+            return mMergedCount;
+        }
+    }
+
+    /**
+     * 位置已被删除（或整体刷新）而丢弃的更新次数
+     */
+    public long getDroppedCount() {
+        synchronized (mLock) {
+            return mDroppedCount;
+        }
+    }
+
+    /**
+     * 还在等待刷新的位置数
+     */
+    public int getPendingCount() {
+        synchronized (mLock) {
+            return getPendingCountLocked();
+        }
+    }
+
+    /**
+     * 清空统计的次数
+     */
+    public void resetCounters() {
+        synchronized (mLock) {
+            mAppliedCount = 0;
+            mMergedCount = 0;
+            mDroppedCount = 0;
+        }
+    }
+
+    private int getPendingCountLocked() {
+        int count = 0;
+        for (int i = 0; i < mSlots.size(); i++) {
+            if (mSlots.valueAt(i).pending) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void onChanged() {
+        /*整体刷新后位置已无法对应，丢弃所有待执行的更新*/
+        synchronized (mLock) {
+            mDroppedCount += getPendingCountLocked();
+            mSlots.clear();
+        }
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        shift(SHIFT_INSERT, positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        shift(SHIFT_REMOVE, positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        shift(SHIFT_MOVE, fromPosition, toPosition);
+    }
+
+    /**
+     * 数据增删移动后把待执行的更新移到新的位置
+     */
+    private void shift(int type, int a, int b) {
+        synchronized (mLock) {
+            if (mSlots.size() == 0) {
+                return;
+            }
+            SparseArrayCompat<Slot<T>> shifted = mSpare;
+            for (int i = 0; i < mSlots.size(); i++) {
+                int position = mSlots.keyAt(i);
+                Slot<T> slot = mSlots.valueAt(i);
+                switch (type) {
+                    case SHIFT_INSERT:
+                        if (position >= a) {
+                            position += b;
+                        }
+                        break;
+                    case SHIFT_REMOVE:
+                        if (position >= a + b) {
+                            position -= b;
+                        } else if (position >= a) {
+                            if (slot.pending) {
+                                mDroppedCount++;
+                            }
+                            continue;
+                        }
+                        break;
+                    default:
+                        if (position == a) {
+                            position = b;
+                        } else if (a < b && position > a && position <= b) {
+                            position--;
+                        } else if (a > b && position >= b && position < a) {
+                            position++;
+                        }
+                        break;
+                }
+                /*增删时顺序不变，append直接追加在末尾；移动打乱顺序时append会退回到按位置插入*/
+                shifted.append(position, slot);
+            }
+            swapSlots();
+        }
+    }
+
+    /**
+     * 新的内容已写入mSpare，交换后清空旧的作为下一次的mSpare（保留已分配的数组）
+     */
+    private void swapSlots() {
+        SparseArrayCompat<Slot<T>> old = mSlots;
+        mSlots = mSpare;
+        mSpare = old;
+        mSpare.clear();
+    }
+
+    private static class Slot<T> {
+        T data;
+        Object payload;
+        boolean pending;
+        /**
+         * 上一次刷新的帧时间，0为还没刷新过
+         */
+        long lastApplied;
+    }
+}
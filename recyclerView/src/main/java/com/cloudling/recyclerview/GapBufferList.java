@@ -0,0 +1,167 @@
+package com.cloudling.recyclerview;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * 描述：间隙缓冲区实现的List，数组中间留一段空位（间隙），插入/删除时只移动间隙到目标位置。
+ * 在同一位置附近连续插入（聊天列表在头部插入、拖拽排序）为均摊O(1)，ArrayList每次都要移动整个尾部。
+ * 可通过RecyclerViewAdapter.setBackingList作为适配器的数据容器
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class GapBufferList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+    private Object[] mBuffer;
+    /**
+     * 间隙为[mGapStart, mGapEnd)
+     */
+    private int mGapStart;
+    private int mGapEnd;
+
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GapBufferList(int initialCapacity) {
+        mBuffer = new Object[Math.max(initialCapacity, 1)];
+        mGapStart = 0;
+        mGapEnd = mBuffer.length;
+    }
+
+    @Override
+    public int size() {
+        return mBuffer.length - (mGapEnd - mGapStart);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        return (T) mBuffer[index < mGapStart ? index : index + mGapEnd - mGapStart];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index, size());
+        int physical = index < mGapStart ? index : index + mGapEnd - mGapStart;
+        T old = (T) mBuffer[physical];
+        mBuffer[physical] = element;
+        return old;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkPositionIndex(index, size());
+        ensureGap(1);
+        moveGap(index);
+        mBuffer[mGapStart++] = element;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        checkPositionIndex(index, size());
+        Object[] items = c.toArray();
+        if (items.length == 0) {
+            return false;
+        }
+        ensureGap(items.length);
+        moveGap(index);
+        System.arraycopy(items, 0, mBuffer, mGapStart, items.length);
+        mGapStart += items.length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(size(), c);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int index) {
+        checkIndex(index, size());
+        moveGap(index);
+        T old = (T) mBuffer[mGapEnd];
+        mBuffer[mGapEnd++] = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        moveGap(fromIndex);
+        int count = toIndex - fromIndex;
+        Arrays.fill(mBuffer, mGapEnd, mGapEnd + count, null);
+        mGapEnd += count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(mBuffer, null);
+        mGapStart = 0;
+        mGapEnd = mBuffer.length;
+        modCount++;
+    }
+
+    /**
+     * 把间隙移动到index（逻辑位置），只移动两者之间的元素
+     */
+    private void moveGap(int index) {
+        if (index == mGapStart) {
+            return;
+        }
+        int gapLength = mGapEnd - mGapStart;
+        if (index < mGapStart) {
+            int count = mGapStart - index;
+            System.arraycopy(mBuffer, index, mBuffer, mGapEnd - count, count);
+            /*清掉移走后留在间隙里的引用*/
+            Arrays.fill(mBuffer, index, Math.min(mGapStart, mGapEnd - count), null);
+        } else {
+            int count = index - mGapStart;
+            System.arraycopy(mBuffer, mGapEnd, mBuffer, mGapStart, count);
+            Arrays.fill(mBuffer, Math.max(mGapEnd, index), mGapEnd + count, null);
+        }
+        mGapStart = index;
+        mGapEnd = index + gapLength;
+    }
+
+    /**
+     * 保证间隙至少有required个空位，不够时扩容（容量翻倍）
+     */
+    private void ensureGap(int required) {
+        int gapLength = mGapEnd - mGapStart;
+        if (gapLength >= required) {
+            return;
+        }
+        int size = size();
+        int newCapacity = Math.max(mBuffer.length * 2, size + required);
+        Object[] newBuffer = new Object[newCapacity];
+        int tailLength = mBuffer.length - mGapEnd;
+        System.arraycopy(mBuffer, 0, newBuffer, 0, mGapStart);
+        System.arraycopy(mBuffer, mGapEnd, newBuffer, newCapacity - tailLength, tailLength);
+        mBuffer = newBuffer;
+        mGapEnd = newCapacity - tailLength;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void checkPositionIndex(int index, int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.cloudling.recyclerview;
 import android.view.View;
 import android.view.ViewGroup;
 
+import androidx.annotation.NonNull;
+import androidx.collection.SparseArrayCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
@@ -14,6 +16,14 @@ import java.util.List;
  * 日期: 2019/7/16
  */
 public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+    /**
+     * HeaderView和FooterView使用的viewType从这里开始（到Integer.MAX_VALUE），IFTypeAdapter返回的viewType不能落在这个范围内
+     */
+    public static final int RESERVED_VIEW_TYPE_START = Integer.MAX_VALUE - 0xFFFFF;
+    /**
+     * 开启稳定id时HeaderView和FooterView使用的id从这里开始（共0x100000个），IFKeyAdapter返回的id不能落在这个范围内
+     */
+    public static final long RESERVED_ID_START = Long.MIN_VALUE;
 
     /*被包装的Adapter。*/
     private RecyclerView.Adapter mAdapter;
@@ -21,6 +31,10 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
     private final List<FixedViewInfo> mHeaderViewInfos = new ArrayList<>();
     /*存放FooterView*/
     private final List<FixedViewInfo> mFooterViewInfos = new ArrayList<>();
+    /*viewType到HeaderView或FooterView的映射，创建ViewHolder时直接查找*/
+    private final SparseArrayCompat<FixedViewInfo> mFixedViewInfos = new SparseArrayCompat<>();
+    /*下一个分配给HeaderView或FooterView的viewType*/
+    private int mNextFixedViewType = RESERVED_VIEW_TYPE_START;
     /*用于监听被包装的Adapter的数据变化的监听器。它将被包装的Adapter的数据变化映射成HeaderViewAdapter的变化。*/
     private RecyclerView.AdapterDataObserver mObserver = new RecyclerView.AdapterDataObserver() {
         @Override
@@ -30,7 +44,7 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
 
         @Override
         public void onItemRangeChanged(int positionStart, int itemCount) {
-            super.onItemRangeChanged(positionStart, itemCount);
+            notifyItemRangeChanged(getHeadersCount() + positionStart, itemCount);
         }
 
         @Override
@@ -59,6 +73,8 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         if (mAdapter != null) {
             //注册mAdapter的数据变化监听
             mAdapter.registerAdapterDataObserver(mObserver);
+            /*跟随mAdapter是否使用稳定id*/
+            setHasStableIds(mAdapter.hasStableIds());
         }
     }
 
@@ -67,10 +83,21 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
             //被包装的adapter不能是HeaderViewAdapter。
             throw new IllegalArgumentException("Cannot wrap a HeadRecyclerAdapter");
         }
+        if (adapter == mAdapter) {
+            return;
+        }
+        if (mAdapter != null) {
+            /*取消旧adapter的监听，否则旧adapter的变化仍会通知到列表，且监听会一直被旧adapter持有*/
+            mAdapter.unregisterAdapterDataObserver(mObserver);
+        }
         mAdapter = adapter;
         if (mAdapter != null) {
             /*注册mAdapter的数据变化监听*/
             mAdapter.registerAdapterDataObserver(mObserver);
+            if (!hasObservers()) {
+                /*已经设置给RecyclerView后不能再修改，只在之前跟随mAdapter*/
+                setHasStableIds(mAdapter.hasStableIds());
+            }
         }
         notifyDataSetChanged();
     }
@@ -80,7 +107,10 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         // 根据viewType查找对应的HeaderView 或 FooterView。如果没有找到则表示该viewType是普通的列表项。
         View view = findViewForInfos(viewType);
         if (view != null) {
-            return new ViewHolder(view);
+            ViewHolder holder = new ViewHolder(view);
+            /*HeaderView和FooterView是固定的View，不能进入（可能共享的）RecycledViewPool被其他列表复用*/
+            holder.setIsRecyclable(false);
+            return holder;
         } else {
             //交由mAdapter处理。
             return mAdapter.onCreateViewHolder(parent, viewType);
@@ -93,9 +123,28 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         if (isHeader(position) || isFooter(position)) {
             return;
         }
-        /*将列表实际的position调整成mAdapter对应的position,交由mAdapter处理*/
+        /*将列表实际的position调整成mAdapter对应的position,交由mAdapter处理。
+          通过bindViewHolder绑定，ViewHolder才会记录mAdapter，getBindingAdapterPosition才能拿到mAdapter中的位置，
+          payload也会一并传给mAdapter*/
         int adjPosition = position - getHeadersCount();
-        mAdapter.onBindViewHolder(holder, adjPosition);
+        mAdapter.bindViewHolder(holder, adjPosition);
+    }
+
+    @Override
+    public int findRelativeAdapterPositionIn(@NonNull RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter,
+                                             @NonNull RecyclerView.ViewHolder viewHolder, int localPosition) {
+        if (adapter == this) {
+            return localPosition;
+        }
+        if (mAdapter != null && adapter == mAdapter) {
+            /*去掉HeaderView的偏移，得到在mAdapter中的位置*/
+            int adjPosition = localPosition - getHeadersCount();
+            if (adjPosition < 0 || adjPosition >= mAdapter.getItemCount()) {
+                return RecyclerView.NO_POSITION;
+            }
+            return mAdapter.findRelativeAdapterPositionIn(adapter, viewHolder, adjPosition);
+        }
+        return RecyclerView.NO_POSITION;
     }
 
     @Override
@@ -119,6 +168,18 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         return mAdapter.getItemViewType(adjPosition);
     }
 
+    @Override
+    public long getItemId(int position) {
+        if (!hasStableIds()) {
+            return RecyclerView.NO_ID;
+        }
+        /*HeaderView和FooterView的id由其viewType映射到保留范围，不会和mAdapter的id冲突*/
+        if (isHeader(position) || isFooter(position)) {
+            return RESERVED_ID_START + (getItemViewType(position) - RESERVED_VIEW_TYPE_START);
+        }
+        return mAdapter.getItemId(position - getHeadersCount());
+    }
+
     /**
      * 判断当前位置是否是头部View。
      *
@@ -172,6 +233,7 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         info.view = view;
         info.itemViewType = viewType;
         mHeaderViewInfos.add(info);
+        mFixedViewInfos.put(viewType, info);
         notifyItemInserted(mHeaderViewInfos.size() - 1);
     }
 
@@ -183,7 +245,7 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
     public void removeHeaderView(View view) {
         for (int i = 0; i < mHeaderViewInfos.size(); i++) {
             if (mHeaderViewInfos.get(i).view == view) {
-                mHeaderViewInfos.remove(i);
+                mFixedViewInfos.remove(mHeaderViewInfos.remove(i).itemViewType);
                 notifyItemRemoved(i);
                 break;
             }
@@ -205,6 +267,7 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         info.view = view;
         info.itemViewType = viewType;
         mFooterViewInfos.add(info);
+        mFixedViewInfos.put(viewType, info);
         notifyItemInserted(getItemCount() - 1);
     }
 
@@ -217,7 +280,7 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
         for (int i = 0; i < mFooterViewInfos.size(); i++) {
             if (mFooterViewInfos.get(i).view == view) {
                 int position = getItemCount() - mFooterViewInfos.size() + i;
-                mFooterViewInfos.remove(i);
+                mFixedViewInfos.remove(mFooterViewInfos.remove(i).itemViewType);
                 notifyItemRemoved(position);
                 break;
             }
@@ -226,26 +289,16 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
 
     /**
      * 生成一个唯一的数，用于标识HeaderView或FooterView的type类型，并且保证类型不会重复。
+     * 从保留范围中按顺序分配，不需要遍历列表的viewType。
      *
      * @return
      */
     private int generateUniqueViewType() {
-        int count = getItemCount();
         while (true) {
-            //生成一个随机数。
-            int viewType = (int) (Math.random() * Integer.MAX_VALUE) + 1;
-
-            //判断该viewType是否已使用。
-            boolean isExist = false;
-            for (int i = 0; i < count; i++) {
-                if (viewType == getItemViewType(i)) {
-                    isExist = true;
-                    break;
-                }
-            }
-
-            //判断该viewType还没被使用，则返回。否则进行下一次循环，重新生成随机数。
-            if (!isExist) {
+            int viewType = mNextFixedViewType;
+            /*用完后回到起点，跳过仍在使用的viewType*/
+            mNextFixedViewType = viewType == Integer.MAX_VALUE ? RESERVED_VIEW_TYPE_START : viewType + 1;
+            if (!mFixedViewInfos.containsKey(viewType)) {
                 return viewType;
             }
         }
@@ -258,19 +311,8 @@ public class HeadRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
      * @return
      */
     private View findViewForInfos(int viewType) {
-        for (FixedViewInfo info : mHeaderViewInfos) {
-            if (info.itemViewType == viewType) {
-                return info.view;
-            }
-        }
-
-        for (FixedViewInfo info : mFooterViewInfos) {
-            if (info.itemViewType == viewType) {
-                return info.view;
-            }
-        }
-
-        return null;
+        FixedViewInfo info = mFixedViewInfos.get(viewType);
+        return info != null ? info.view : null;
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：异步的加载操作，配合SwipeRecyclerViewDelegate使用：加载结果通过request回调（可在任意线程），
+ * 由委托者统一添加数据、结束刷新和显示无更多数据；刷新会取消正在进行的加载更多，
+ * 重复的加载请求会被忽略，超时或失败时按LoadConfig重试
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFAsyncLoadOp<T> extends IFLoadOp {
+    /**
+     * 下拉刷新，加载第一页
+     *
+     * @param request 加载完成后回调onResult（endOfData表示没有更多数据）或onError，
+     *                被取消（request.isCancelled()）后回调的结果会被忽略
+     */
+    void refresh(LoadRequest<T> request);
+
+    /**
+     * 上拉加载下一页，参数同refresh
+     */
+    void loadMore(LoadRequest<T> request);
+
+    /**
+     * 重试次数用完后仍然失败
+     *
+     * @param refresh 是否是下拉刷新
+     */
+    default void onLoadFailed(boolean refresh, Throwable error) {
+    }
+
+    /**
+     * 异步模式下不再回调，由refresh代替
+     */
+    @Override
+    default void onRefresh() {
+    }
+
+    /**
+     * 异步模式下不再回调，由loadMore代替
+     */
+    @Override
+    default void onLoadMore() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：批量操作，在run中通过BatchTransaction修改数据，结束后统一合并通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFBatch<T> {
+    /**
+     * 执行批量操作（只能使用tx修改数据，期间不要调用适配器或委托者的add/remove等方法）
+     */
+    void run(BatchTransaction<T> tx);
+}
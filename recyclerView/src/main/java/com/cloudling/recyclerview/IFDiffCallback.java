@@ -0,0 +1,25 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：数据比对接口，配合submitList使用（在后台线程中调用，实现时不要访问视图）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFDiffCallback<T> {
+    /**
+     * 是否是同一个item（一般比较id）
+     */
+    boolean areItemsTheSame(T oldItem, T newItem);
+
+    /**
+     * 同一个item的内容是否相同，不同则会刷新该item
+     */
+    boolean areContentsTheSame(T oldItem, T newItem);
+
+    /**
+     * 内容不同时用于局部刷新的payload，返回null则整项刷新
+     */
+    default Object getChangePayload(T oldItem, T newItem) {
+        return null;
+    }
+}
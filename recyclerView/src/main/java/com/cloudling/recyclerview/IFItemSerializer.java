@@ -0,0 +1,22 @@
+package com.cloudling.recyclerview;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 描述：MappedItemStore使用的数据序列化接口
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFItemSerializer<T> {
+    /**
+     * 把数据写成字节（只在添加/更新数据时调用）
+     */
+    byte[] serialize(T item);
+
+    /**
+     * 从字节还原数据（绑定时缓存中没有才调用）
+     *
+     * @param buffer 只包含这一条数据的字节，从position读到limit
+     */
+    T deserialize(ByteBuffer buffer);
+}
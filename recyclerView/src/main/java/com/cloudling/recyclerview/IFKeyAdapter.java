@@ -0,0 +1,15 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：提供稳定id的IFAdapter，实现后适配器会开启setHasStableIds，
+ * notifyDataSetChanged（addAll、clear等）后RecyclerView可以按id复用原来的ViewHolder并执行动画
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFKeyAdapter<T> extends IFAdapter<T> {
+    /**
+     * 返回该数据唯一且不变的id（一般是数据库id），同一份列表中不能重复，
+     * 且不能落在HeadRecyclerAdapter.RESERVED_ID_START开始的保留范围内（留给HeaderView和FooterView）
+     */
+    long getItemKey(T data);
+}
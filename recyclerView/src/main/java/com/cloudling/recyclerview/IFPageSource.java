@@ -0,0 +1,33 @@
+package com.cloudling.recyclerview;
+
+import java.util.List;
+
+/**
+ * 描述：分页数据源，配合SwipeRecyclerViewDelegate.pageSource使用。
+ * 未加载的页以null占位，IFAdapter.updateView（以及IFTypeAdapter.getItemViewType）需要处理data为null的情况
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFPageSource<T> {
+    /**
+     * 加载某一页（可以在任意线程回调callback）
+     *
+     * @param page     页码，从0开始
+     * @param pageSize 每页的个数，除了最后一页，返回的个数必须等于pageSize
+     */
+    void loadPage(int page, int pageSize, Callback<T> callback);
+
+    interface Callback<T> {
+        /**
+         * 加载成功
+         *
+         * @param endOfData 是否是最后一页
+         */
+        void onResult(List<T> items, boolean endOfData);
+
+        /**
+         * 加载失败，该页滚动到可见范围附近时会再次加载
+         */
+        void onError(Throwable error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cloudling.recyclerview;
+
+import androidx.databinding.ViewDataBinding;
+
+import java.util.List;
+
+/**
+ * 描述：支持局部刷新的IFAdapter（配合notifyItemChanged(index, payload)或updateItem使用）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFPayloadAdapter<T> extends IFAdapter<T> {
+    /**
+     * 局部刷新（payloads不为空时才会回调，为空时仍回调updateView(data, binding, position, type)整项刷新）
+     *
+     * @param payloads notifyItemChanged时传入的payload集合
+     */
+    void updateView(T data, ViewDataBinding binding, int position, int type, List<Object> payloads);
+}
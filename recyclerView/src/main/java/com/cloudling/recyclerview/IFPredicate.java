@@ -0,0 +1,13 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：数据筛选条件（minSdk为21，不能直接使用java.util.function.Predicate）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFPredicate<T> {
+    /**
+     * 是否满足条件
+     */
+    boolean test(T data);
+}
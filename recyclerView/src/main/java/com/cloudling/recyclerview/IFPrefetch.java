@@ -0,0 +1,28 @@
+package com.cloudling.recyclerview;
+
+import java.util.List;
+
+/**
+ * 描述：预加载即将显示的item用到的资源（解码图片、排版文本等），在updateView之前预热缓存。
+ * 滚动时在主线程回调可见范围外、滚动方向上的item，范围按滚动速度和LayoutManager（列数）计算；
+ * 位置都不包含headerView，未加载的分页以null占位
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFPrefetch<T> {
+    /**
+     * 开始预加载
+     *
+     * @param from  起始位置
+     * @param to    结束位置（包含）
+     * @param items from到to的数据
+     */
+    void onPrefetch(int from, int to, List<T> items);
+
+    /**
+     * 之前预加载的范围离开了可见范围附近（或数据已变化），可以取消还没完成的预加载
+     *
+     * @param items 预加载时传入的数据
+     */
+    void onCancelPrefetch(int from, int to, List<T> items);
+}
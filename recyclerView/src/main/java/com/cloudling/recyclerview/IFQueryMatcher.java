@@ -0,0 +1,11 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：按关键字过滤数据（在后台线程中调用，实现时不要访问视图）。
+ * 关键字在上一次的基础上追加字符时，只在上一次的结果中过滤，所以匹配更长关键字的数据必须也匹配它的前缀（如contains、startsWith）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFQueryMatcher<T> {
+    boolean matches(T data, String query);
+}
@@ -0,0 +1,23 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * 描述：吸顶分组头，配合StickyHeaderDecoration使用（只支持竖直方向的列表）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public interface IFStickyHeader<T> {
+    /**
+     * 数据所在分组的key，相邻且key相同（equals）的数据为同一组，返回null表示该组没有分组头
+     *
+     * @param data 分页加载的占位项为null
+     */
+    Object getSectionKey(T data);
+
+    /**
+     * 创建并显示某个分组的分组头（创建后会被缓存，同一分组不会重复创建）
+     */
+    View createHeaderView(ViewGroup parent, Object sectionKey);
+}
@@ -6,7 +6,7 @@ package com.cloudling.recyclerview;
  */
 public interface IFTypeAdapter<T> extends IFAdapter<T> {
     /**
-     * 可以根据数据类型来显示不同的item
+     * 可以根据数据类型来显示不同的item（不能返回HeadRecyclerAdapter.RESERVED_VIEW_TYPE_START及以上的值，这部分留给HeaderView和FooterView）
      */
     int getItemViewType(int position);
 }
@@ -0,0 +1,80 @@
+package com.cloudling.recyclerview;
+
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+/**
+ * 描述：根据LayoutManager的类型（线性/网格/交错网格）获取可见范围，滚动时每帧调用也不会分配对象
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class LayoutManagerHelper {
+    /**
+     * 交错网格获取每一列位置时复用的数组
+     */
+    private int[] mSpanPositions;
+
+    /**
+     * 第一个可见item的位置（包括headerView），没有则返回RecyclerView.NO_POSITION
+     */
+    int findFirstVisiblePosition(RecyclerView.LayoutManager layoutManager) {
+        if (layoutManager instanceof LinearLayoutManager) {
+            /*GridLayoutManager也是LinearLayoutManager*/
+            return ((LinearLayoutManager) layoutManager).findFirstVisibleItemPosition();
+        }
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            int[] positions = spanPositions((StaggeredGridLayoutManager) layoutManager);
+            ((StaggeredGridLayoutManager) layoutManager).findFirstVisibleItemPositions(positions);
+            int min = RecyclerView.NO_POSITION;
+            for (int position : positions) {
+                if (position != RecyclerView.NO_POSITION && (min == RecyclerView.NO_POSITION || position < min)) {
+                    min = position;
+                }
+            }
+            return min;
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * 最后一个可见item的位置（包括headerView和footerView），没有则返回RecyclerView.NO_POSITION
+     */
+    int findLastVisiblePosition(RecyclerView.LayoutManager layoutManager) {
+        if (layoutManager instanceof LinearLayoutManager) {
+            return ((LinearLayoutManager) layoutManager).findLastVisibleItemPosition();
+        }
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            int[] positions = spanPositions((StaggeredGridLayoutManager) layoutManager);
+            ((StaggeredGridLayoutManager) layoutManager).findLastVisibleItemPositions(positions);
+            int max = RecyclerView.NO_POSITION;
+            for (int position : positions) {
+                max = Math.max(max, position);
+            }
+            return max;
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * 一行（列）的item数，线性布局为1
+     */
+    int getSpanCount(RecyclerView.LayoutManager layoutManager) {
+        if (layoutManager instanceof GridLayoutManager) {
+            return ((GridLayoutManager) layoutManager).getSpanCount();
+        }
+        if (layoutManager instanceof StaggeredGridLayoutManager) {
+            return ((StaggeredGridLayoutManager) layoutManager).getSpanCount();
+        }
+        return 1;
+    }
+
+    private int[] spanPositions(StaggeredGridLayoutManager layoutManager) {
+        int spanCount = layoutManager.getSpanCount();
+        if (mSpanPositions == null || mSpanPositions.length != spanCount) {
+            mSpanPositions = new int[spanCount];
+        }
+        return mSpanPositions;
+    }
+}
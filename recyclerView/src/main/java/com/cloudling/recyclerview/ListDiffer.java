@@ -0,0 +1,194 @@
+package com.cloudling.recyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 描述：submitList的实现，在后台线程比对新旧数据，只把增删改移的差异通知给适配器
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class ListDiffer<T> {
+    /**
+     * 默认的比对线程，所有列表共用
+     */
+    private static Executor sDefaultExecutor;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private IFDiffCallback<T> mDiffCallback;
+    private Executor mExecutor;
+    private Handler mMainHandler;
+    /**
+     * 每次submitList都会自增，比对结果回来时如果不是最新的一次则直接丢弃
+     */
+    private int mMaxScheduledGeneration;
+
+    ListDiffer(RecyclerViewAdapter<T> adapter) {
+        this.mAdapter = adapter;
+    }
+
+    void setDiffCallback(IFDiffCallback<T> callback) {
+        this.mDiffCallback = callback;
+    }
+
+    IFDiffCallback<T> getDiffCallback() {
+        return mDiffCallback;
+    }
+
+    void setExecutor(Executor executor) {
+        this.mExecutor = executor;
+    }
+
+    /**
+     * 提交新的数据（需在主线程调用）
+     *
+     * @param newList        新的数据
+     * @param commitCallback 差异通知完成后的回调，可为null
+     */
+    void submitList(List<T> newList, final Runnable commitCallback) {
+        if (mDiffCallback == null) {
+            throw new IllegalStateException("submitList需要先设置IFDiffCallback");
+        }
+        final int runGeneration = ++mMaxScheduledGeneration;
+        /*新旧数据都拷贝一份，比对期间外部再修改也不会影响后台线程*/
+        final List<T> newSnapshot = newList == null ? new ArrayList<T>() : new ArrayList<>(newList);
+        final List<T> oldSnapshot = new ArrayList<>(mAdapter.getData());
+        if (oldSnapshot.isEmpty() || newSnapshot.isEmpty()) {
+            /*一边为空时不需要比对，直接整段插入或移除*/
+            mAdapter.applyDiff(newSnapshot, null);
+            if (commitCallback != null) {
+                commitCallback.run();
+            }
+            return;
+        }
+        final IFDiffCallback<T> diffCallback = mDiffCallback;
+        final Handler mainHandler = getMainHandler();
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new SnapshotCallback<>(oldSnapshot, newSnapshot, diffCallback));
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mMaxScheduledGeneration != runGeneration) {
+                            /*已经有更新的submitList，丢弃这次的结果*/
+                            return;
+                        }
+                        if (!isSameList(oldSnapshot, mAdapter.getData())) {
+                            /*比对期间数据被add/remove等方法修改过，结果已不可用，以当前数据为准重新比对*/
+                            submitList(newSnapshot, commitCallback);
+                            return;
+                        }
+                        mAdapter.applyDiff(newSnapshot, result);
+                        if (commitCallback != null) {
+                            commitCallback.run();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private Executor getExecutor() {
+        return mExecutor != null ? mExecutor : defaultExecutor();
+    }
+
+    /**
+     * 所有列表共用的后台线程（比对、过滤）
+     */
+    static Executor defaultExecutor() {
+        synchronized (ListDiffer.class) {
+            if (sDefaultExecutor == null) {
+                sDefaultExecutor = Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "RecyclerView-diff");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            return sDefaultExecutor;
+        }
+    }
+
+    private Handler getMainHandler() {
+        if (mMainHandler == null) {
+            mMainHandler = new Handler(Looper.getMainLooper());
+        }
+        return mMainHandler;
+    }
+
+    /**
+     * 逐项比较引用，判断数据在比对期间是否被修改过
+     */
+    private static <T> boolean isSameList(List<T> snapshot, List<T> current) {
+        if (snapshot.size() != current.size()) {
+            return false;
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i) != current.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 新旧数据快照的比对，null（占位）只和null相同
+     */
+    static final class SnapshotCallback<T> extends DiffUtil.Callback {
+        private final List<T> mOldList;
+        private final List<T> mNewList;
+        private final IFDiffCallback<T> mDiffCallback;
+
+        SnapshotCallback(List<T> oldList, List<T> newList, IFDiffCallback<T> diffCallback) {
+            this.mOldList = oldList;
+            this.mNewList = newList;
+            this.mDiffCallback = diffCallback;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return mOldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return mNewList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            T oldItem = mOldList.get(oldItemPosition);
+            T newItem = mNewList.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return mDiffCallback.areItemsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            T oldItem = mOldList.get(oldItemPosition);
+            T newItem = mNewList.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return oldItem == newItem;
+            }
+            return mDiffCallback.areContentsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+            T oldItem = mOldList.get(oldItemPosition);
+            T newItem = mNewList.get(newItemPosition);
+            if (oldItem == null || newItem == null) {
+                return null;
+            }
+            return mDiffCallback.getChangePayload(oldItem, newItem);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.cloudling.recyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * 描述：setFilter/setQuery的实现，在后台线程过滤，只把增删的差异通知给适配器。
+ * 开始过滤时保存一份完整的数据（clearFilter时恢复），之后每次都在这份数据上过滤；
+ * 过滤结果是完整数据的子序列，新旧结果按下标顺序合并即可得到差异，不需要DiffUtil。
+ * 过滤期间通过add/remove/update等方法修改显示的数据时，修改会同步到完整数据中（新增的数据放在相邻的显示数据旁边，
+ * 追加在末尾的放到完整数据的末尾），新增或修改过的数据会按当前条件重新过滤；addAll等整体替换时完整数据也一起替换
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class ListFilter<T> {
+    /**
+     * 每过滤这么多条检查一次是否已被新的过滤取代
+     */
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private Handler mMainHandler;
+    private Executor mExecutor;
+    /**
+     * 完整的数据，为null时表示没有在过滤
+     */
+    private List<T> mSource;
+    /**
+     * 当前显示的数据在mSource中的下标（升序）
+     */
+    private int[] mShown;
+    private int mShownCount;
+    /**
+     * 当前显示的结果对应的关键字，不是按关键字过滤时为null
+     */
+    private String mShownQuery;
+    /**
+     * 每次过滤都会自增，后台线程据此放弃已被取代的过滤
+     */
+    private volatile int mGeneration;
+    /**
+     * 最近一次过滤的条件和关键字（不是按关键字过滤时为null），同步修改后重新过滤时使用
+     */
+    private IFPredicate<T> mPredicate;
+    private String mQuery;
+    /**
+     * 是否有还没回来的过滤结果
+     */
+    private boolean mRunning;
+    /**
+     * 正在分发自己产生的通知，忽略
+     */
+    private boolean mApplying;
+    /**
+     * 显示的数据被修改过，还没同步到mSource
+     */
+    private boolean mDirty;
+    /**
+     * 显示的数据被整体替换过（notifyDataSetChanged）
+     */
+    private boolean mReplaced;
+    private final Runnable mSyncRunnable = () -> syncIfDirty(true);
+    private final RecyclerView.AdapterDataObserver mObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            if (!mApplying) {
+                mReplaced = true;
+                markDirty();
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            markDirty();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            markDirty();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            markDirty();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            markDirty();
+        }
+    };
+
+    ListFilter(RecyclerViewAdapter<T> adapter) {
+        this.mAdapter = adapter;
+    }
+
+    void setExecutor(Executor executor) {
+        this.mExecutor = executor;
+    }
+
+    boolean isFiltering() {
+        return mSource != null;
+    }
+
+    /**
+     * 按条件过滤（需在主线程调用）
+     */
+    void filter(IFPredicate<T> predicate) {
+        start(null, predicate);
+    }
+
+    /**
+     * 按关键字过滤（需在主线程调用），关键字是上一次的延长时只在上一次的结果中过滤
+     */
+    void query(final String query, final IFQueryMatcher<T> matcher) {
+        start(query, new IFPredicate<T>() {
+            @Override
+            public boolean test(T data) {
+                return matcher.matches(data, query);
+            }
+        });
+    }
+
+    /**
+     * 取消过滤，恢复完整的数据
+     */
+    void clear() {
+        mGeneration++;
+        mRunning = false;
+        if (mSource == null) {
+            return;
+        }
+        syncIfDirty(false);
+        int[] all = new int[mSource.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        apply(all, all.length, null);
+        mAdapter.unregisterAdapterDataObserver(mObserver);
+        mMainHandler.removeCallbacks(mSyncRunnable);
+        mSource = null;
+        mShown = null;
+        mPredicate = null;
+        mQuery = null;
+    }
+
+    private void start(final String query, final IFPredicate<T> predicate) {
+        final int generation = ++mGeneration;
+        if (mMainHandler == null) {
+            mMainHandler = new Handler(Looper.getMainLooper());
+        }
+        mPredicate = predicate;
+        mQuery = query;
+        mRunning = true;
+        syncIfDirty(false);
+        if (mSource == null) {
+            /*第一次过滤时保存完整的数据，当前显示的就是全部*/
+            mSource = new ArrayList<>(mAdapter.getData());
+            mShownCount = mSource.size();
+            mShown = new int[mShownCount];
+            for (int i = 0; i < mShownCount; i++) {
+                mShown[i] = i;
+            }
+            mShownQuery = "";
+            mAdapter.registerAdapterDataObserver(mObserver);
+        }
+        final List<T> source = mSource;
+        /*关键字只是在当前结果的关键字后追加了字符，只需要在当前结果中过滤*/
+        final int[] candidates = query != null && mShownQuery != null && query.startsWith(mShownQuery)
+                ? Arrays.copyOf(mShown, mShownCount) : null;
+        final Handler mainHandler = mMainHandler;
+        Executor executor = mExecutor != null ? mExecutor : ListDiffer.defaultExecutor();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                int count = candidates != null ? candidates.length : source.size();
+                final int[] result = new int[count];
+                int resultCount = 0;
+                for (int i = 0; i < count; i++) {
+                    if (i % CANCEL_CHECK_INTERVAL == 0 && generation != mGeneration) {
+                        /*已经有新的过滤，放弃这一次*/
+                        return;
+                    }
+                    int index = candidates != null ? candidates[i] : i;
+                    if (predicate.test(source.get(index))) {
+                        result[resultCount++] = index;
+                    }
+                }
+                final int finalCount = resultCount;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration) {
+                            return;
+                        }
+                        /*过滤期间显示的数据被修改过时，同步后mSource是新的列表，这次的结果作废并重新过滤*/
+                        syncIfDirty(true);
+                        if (generation == mGeneration && mSource == source) {
+                            mRunning = false;
+                            apply(result, finalCount, query);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 把显示的数据换成新的结果，按下标顺序合并新旧结果得到增删通知
+     */
+    private void apply(int[] result, int resultCount, String query) {
+        List<T> newList = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++) {
+            newList.add(mSource.get(result[i]));
+        }
+        UpdateOpMerger updates = new UpdateOpMerger();
+        int oldIndex = 0;
+        int newIndex = 0;
+        int position = 0;
+        while (oldIndex < mShownCount || newIndex < resultCount) {
+            int oldValue = oldIndex < mShownCount ? mShown[oldIndex] : Integer.MAX_VALUE;
+            int newValue = newIndex < resultCount ? result[newIndex] : Integer.MAX_VALUE;
+            if (oldValue == newValue) {
+                position++;
+                oldIndex++;
+                newIndex++;
+            } else if (oldValue < newValue) {
+                updates.onRemoved(position, 1);
+                oldIndex++;
+            } else {
+                updates.onInserted(position, 1);
+                position++;
+                newIndex++;
+            }
+        }
+        mApplying = true;
+        try {
+            mAdapter.applyUpdates(newList, updates);
+        } finally {
+            mApplying = false;
+        }
+        mShown = result;
+        mShownCount = resultCount;
+        mShownQuery = query;
+    }
+
+    private void markDirty() {
+        if (mApplying || mSource == null) {
+            return;
+        }
+        if (!mDirty) {
+            mDirty = true;
+            /*一次batch会分发多个通知，等这一轮消息处理完再同步*/
+            mMainHandler.post(mSyncRunnable);
+        }
+    }
+
+    /**
+     * 把过滤期间对显示数据的修改同步到完整数据
+     *
+     * @param refilter 有新增或修改的数据、或者有正在进行的过滤时是否重新过滤
+     */
+    private void syncIfDirty(boolean refilter) {
+        if (!mDirty || mSource == null) {
+            return;
+        }
+        mDirty = false;
+        mMainHandler.removeCallbacks(mSyncRunnable);
+        List<T> current = mAdapter.getData();
+        boolean added;
+        if (mReplaced) {
+            /*整体替换（如addAll刷新）时完整数据也一起替换*/
+            mReplaced = false;
+            mSource = new ArrayList<>(current);
+            mShownCount = mSource.size();
+            mShown = new int[mShownCount];
+            for (int i = 0; i < mShownCount; i++) {
+                mShown[i] = i;
+            }
+            added = mShownCount > 0;
+        } else {
+            added = merge(current);
+        }
+        if (refilter && (added || mRunning) && mPredicate != null) {
+            start(mQuery, mPredicate);
+        }
+    }
+
+    /**
+     * 按引用对比修改前后显示的数据，生成新的完整数据（后台线程可能还在读旧的，所以不在原列表上修改）：
+     * 被删除的数据从完整数据中删除；新增的数据放在同一间隔中第一个被删除的数据的位置（update替换后位置不变），
+     * 没有被删除的则放在下一个保留的数据前面，末尾新增的放到完整数据的末尾
+     *
+     * @return 是否有新增（包括替换）的数据
+     */
+    private boolean merge(List<T> current) {
+        int currentSize = current.size();
+        IdentityHashMap<T, ArrayDeque<Integer>> positions = new IdentityHashMap<>();
+        for (int i = 0; i < currentSize; i++) {
+            T item = current.get(i);
+            ArrayDeque<Integer> queue = positions.get(item);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                positions.put(item, queue);
+            }
+            queue.add(i);
+        }
+        /*旧的显示数据在新的显示数据中的位置（递增），-1为已被删除*/
+        int[] matched = new int[mShownCount];
+        int last = -1;
+        for (int i = 0; i < mShownCount; i++) {
+            ArrayDeque<Integer> queue = positions.get(mSource.get(mShown[i]));
+            while (queue != null && !queue.isEmpty() && queue.peekFirst() <= last) {
+                queue.pollFirst();
+            }
+            matched[i] = queue != null && !queue.isEmpty() ? (last = queue.pollFirst()) : -1;
+        }
+        /*从第i个旧的显示数据开始，下一个保留的数据在新的显示数据中的位置*/
+        int[] nextMatched = new int[mShownCount + 1];
+        nextMatched[mShownCount] = currentSize;
+        for (int i = mShownCount - 1; i >= 0; i--) {
+            nextMatched[i] = matched[i] >= 0 ? matched[i] : nextMatched[i + 1];
+        }
+        List<T> source = new ArrayList<>(mSource.size() - mShownCount + currentSize);
+        int[] shown = new int[currentSize];
+        int shownCount = 0;
+        int nextNew = 0;
+        int shownIndex = 0;
+        boolean added = false;
+        for (int s = 0; s < mSource.size(); s++) {
+            if (shownIndex < mShownCount && mShown[shownIndex] == s) {
+                int position = matched[shownIndex++];
+                int until = position >= 0 ? position : nextMatched[shownIndex];
+                for (; nextNew < until; nextNew++) {
+                    shown[shownCount++] = source.size();
+                    source.add(current.get(nextNew));
+                    added = true;
+                }
+                if (position >= 0) {
+                    shown[shownCount++] = source.size();
+                    source.add(current.get(position));
+                    nextNew = position + 1;
+                }
+            } else {
+                source.add(mSource.get(s));
+            }
+        }
+        for (; nextNew < currentSize; nextNew++) {
+            shown[shownCount++] = source.size();
+            source.add(current.get(nextNew));
+            added = true;
+        }
+        mSource = source;
+        mShown = shown;
+        mShownCount = shownCount;
+        return added;
+    }
+}
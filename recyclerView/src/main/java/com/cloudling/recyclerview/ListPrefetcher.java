@@ -0,0 +1,233 @@
+package com.cloudling.recyclerview;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 描述：滚动时计算滚动方向上可见范围外即将显示的item范围，回调IFPrefetch预加载；
+ * 范围按这一帧的滑动距离估算（滑得越快范围越大），按列数取整；离开可见范围附近的范围回调取消，
+ * 数据在预加载范围内增删时整个范围取消，下一次滚动时重新计算；范围内的数据被修改时只取消并重新预加载修改的部分，
+ * 带payload的局部刷新不处理
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class ListPrefetcher<T> extends RecyclerView.OnScrollListener {
+    /**
+     * 按速度估算时向前看的帧数（60fps下约0.5秒）
+     */
+    private static final int LOOKAHEAD_FRAMES = 30;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private final HeadRecyclerAdapter mHeadAdapter;
+    private final IFPrefetch<T> mPrefetch;
+    /**
+     * 静止或慢速滚动时预加载的item数
+     */
+    private final int mMinItems;
+    /**
+     * 预加载范围的上限（距离可见范围的item数）
+     */
+    private final int mMaxItems;
+    private final LayoutManagerHelper mLayoutManagerHelper = new LayoutManagerHelper();
+    /**
+     * 最近一次的滚动方向，滚动停止时保持
+     */
+    private boolean mForward = true;
+    /**
+     * 当前预加载的范围和对应的数据，没有时为RecyclerView.NO_POSITION
+     */
+    private int mFrom = RecyclerView.NO_POSITION;
+    private int mTo = RecyclerView.NO_POSITION;
+    private boolean mRangeForward;
+    private List<T> mItems = Collections.emptyList();
+
+    ListPrefetcher(RecyclerViewAdapter<T> adapter, HeadRecyclerAdapter headAdapter, IFPrefetch<T> prefetch,
+                   int minItems, int maxItems) {
+        this.mAdapter = adapter;
+        this.mHeadAdapter = headAdapter;
+        this.mPrefetch = prefetch;
+        this.mMinItems = Math.max(1, minItems);
+        this.mMaxItems = Math.max(mMinItems, maxItems);
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                cancelAll();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                refetch(positionStart, positionStart + itemCount - 1);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                /*局部刷新不影响预加载的资源*/
+                if (payload == null) {
+                    refetch(positionStart, positionStart + itemCount - 1);
+                }
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                cancelIfShifted(positionStart);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                cancelIfShifted(positionStart);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                cancelIfShifted(Math.min(fromPosition, toPosition));
+            }
+        });
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int count = mAdapter.getItemCount();
+        if (layoutManager == null || count == 0) {
+            cancelAll();
+            return;
+        }
+        int first = mLayoutManagerHelper.findFirstVisiblePosition(layoutManager);
+        int last = mLayoutManagerHelper.findLastVisiblePosition(layoutManager);
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            cancelAll();
+            return;
+        }
+        boolean vertical = layoutManager.canScrollVertically();
+        int delta = vertical ? dy : dx;
+        if (delta != 0) {
+            mForward = delta > 0;
+        }
+        int items = mMinItems;
+        int extent = vertical ? recyclerView.getHeight() : recyclerView.getWidth();
+        if (delta != 0 && extent > 0) {
+            /*用可见的item数估算每像素的item数，再乘以这一帧的滑动距离和向前看的帧数*/
+            float itemsPerPixel = (last - first + 1) / (float) extent;
+            items += (int) (Math.abs(delta) * itemsPerPixel * LOOKAHEAD_FRAMES);
+        }
+        /*按整行（列）预加载*/
+        int spanCount = mLayoutManagerHelper.getSpanCount(layoutManager);
+        items = Math.min(mMaxItems, (items + spanCount - 1) / spanCount * spanCount);
+        /*去掉headerView的偏移，可能是负数（只显示了headerView）或超出末尾（只显示了footerView）*/
+        int headers = mHeadAdapter.getHeadersCount();
+        int firstContent = first - headers;
+        int lastContent = last - headers;
+        boolean keepFarEdge = mFrom != RecyclerView.NO_POSITION && mRangeForward == mForward;
+        int from;
+        int to;
+        if (mForward) {
+            from = Math.max(0, lastContent + 1);
+            to = Math.min(count - 1, from + items - 1);
+            if (keepFarEdge) {
+                /*减速时不缩小范围，已经在预加载的item很快就会显示*/
+                to = Math.min(count - 1, Math.max(to, Math.min(mTo, lastContent + mMaxItems)));
+            }
+        } else {
+            to = Math.min(count - 1, firstContent - 1);
+            from = Math.max(0, to - items + 1);
+            if (keepFarEdge) {
+                from = Math.max(0, Math.min(from, Math.max(mFrom, firstContent - mMaxItems)));
+            }
+        }
+        update(from, to, Math.max(0, Math.min(from, firstContent)), Math.max(to, lastContent));
+    }
+
+    /**
+     * 切换到新的预加载范围
+     *
+     * @param windowFrom 可见范围和新的预加载范围的起始位置，旧范围在窗口内的部分不取消
+     * @param windowTo   可见范围和新的预加载范围的结束位置
+     */
+    private void update(int from, int to, int windowFrom, int windowTo) {
+        if (from > to) {
+            cancelAll();
+            return;
+        }
+        if (from == mFrom && to == mTo) {
+            return;
+        }
+        List<T> data = mAdapter.getData();
+        List<T> items = new ArrayList<>(to - from + 1);
+        for (int position = from; position <= to; position++) {
+            boolean prefetched = mFrom != RecyclerView.NO_POSITION && position >= mFrom && position <= mTo;
+            items.add(prefetched ? mItems.get(position - mFrom) : data.get(position));
+        }
+        if (mFrom != RecyclerView.NO_POSITION) {
+            cancel(mFrom, Math.min(mTo, windowFrom - 1));
+            cancel(Math.max(mFrom, windowTo + 1), mTo);
+            prefetch(from, to, items, from, Math.min(to, mFrom - 1));
+            prefetch(from, to, items, Math.max(from, mTo + 1), to);
+        } else {
+            prefetch(from, to, items, from, to);
+        }
+        mFrom = from;
+        mTo = to;
+        mRangeForward = mForward;
+        mItems = items;
+    }
+
+    private void prefetch(int from, int to, List<T> items, int segmentFrom, int segmentTo) {
+        if (segmentFrom <= segmentTo && segmentFrom >= from && segmentTo <= to) {
+            mPrefetch.onPrefetch(segmentFrom, segmentTo,
+                    new ArrayList<>(items.subList(segmentFrom - from, segmentTo - from + 1)));
+        }
+    }
+
+    private void cancel(int segmentFrom, int segmentTo) {
+        if (segmentFrom <= segmentTo) {
+            mPrefetch.onCancelPrefetch(segmentFrom, segmentTo,
+                    new ArrayList<>(mItems.subList(segmentFrom - mFrom, segmentTo - mFrom + 1)));
+        }
+    }
+
+    /**
+     * 取消预加载范围内被修改的部分，按修改后的数据重新预加载
+     */
+    private void refetch(int changedFrom, int changedTo) {
+        if (mFrom == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int from = Math.max(mFrom, changedFrom);
+        int to = Math.min(mTo, changedTo);
+        if (from > to) {
+            return;
+        }
+        List<T> data = mAdapter.getData();
+        if (to >= data.size()) {
+            cancelAll();
+            return;
+        }
+        cancel(from, to);
+        for (int position = from; position <= to; position++) {
+            mItems.set(position - mFrom, data.get(position));
+        }
+        prefetch(mFrom, mTo, mItems, from, to);
+    }
+
+    /**
+     * 增删移动的位置不在预加载范围之后（范围内的位置会偏移）时取消整个范围
+     */
+    private void cancelIfShifted(int positionStart) {
+        if (mFrom != RecyclerView.NO_POSITION && positionStart <= mTo) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        if (mFrom == RecyclerView.NO_POSITION) {
+            return;
+        }
+        mPrefetch.onCancelPrefetch(mFrom, mTo, mItems);
+        mFrom = RecyclerView.NO_POSITION;
+        mTo = RecyclerView.NO_POSITION;
+        mItems = Collections.emptyList();
+    }
+}
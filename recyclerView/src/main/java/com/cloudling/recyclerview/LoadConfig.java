@@ -0,0 +1,44 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：异步加载（IFAsyncLoadOp）的超时和重试配置
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class LoadConfig {
+    /**
+     * 一次加载的超时时间，0为不超时
+     */
+    long timeoutMillis = 15_000;
+    /**
+     * 超时或失败后最多重试的次数
+     */
+    int maxRetries = 2;
+    /**
+     * 第一次重试前等待的时间，之后每次翻倍
+     */
+    long retryDelayMillis = 1_000;
+    /**
+     * 重试等待时间的上限
+     */
+    long maxRetryDelayMillis = 16_000;
+
+    public LoadConfig timeout(long timeoutMillis) {
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        return this;
+    }
+
+    public LoadConfig maxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+        return this;
+    }
+
+    public LoadConfig retryDelay(long retryDelayMillis, long maxRetryDelayMillis) {
+        if (retryDelayMillis < 0 || maxRetryDelayMillis < retryDelayMillis) {
+            throw new IllegalArgumentException("require 0 <= retryDelayMillis <= maxRetryDelayMillis");
+        }
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxRetryDelayMillis = maxRetryDelayMillis;
+        return this;
+    }
+}
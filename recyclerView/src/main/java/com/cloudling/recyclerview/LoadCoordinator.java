@@ -0,0 +1,176 @@
+package com.cloudling.recyclerview;
+
+import android.os.Handler;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 描述：异步加载的调度（在主线程使用）：同一时间只有一个加载请求，刷新会取消正在进行的加载更多，
+ * 加载中再次请求会被忽略；超时按失败处理，失败后按指数退避重试，只有最新的请求的结果会被分发
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class LoadCoordinator<T> {
+    interface Listener<T> {
+        /**
+         * 加载成功
+         *
+         * @param refresh 是否是下拉刷新
+         */
+        void onLoaded(boolean refresh, List<T> items, boolean endOfData);
+
+        /**
+         * 重试次数用完后仍然失败
+         */
+        void onFailed(boolean refresh, Throwable error);
+    }
+
+    private final IFAsyncLoadOp<T> mLoadOp;
+    private final Listener<T> mListener;
+    private final long mTimeoutMillis;
+    private final int mMaxRetries;
+    private final long mRetryDelayMillis;
+    private final long mMaxRetryDelayMillis;
+    private int mNextRequestId;
+    /**
+     * 当前的请求（等待重试期间也保留），为null时没有在加载
+     */
+    private LoadRequest<T> mInFlight;
+    private final Runnable mTimeout = new Runnable() {
+        @Override
+        public void run() {
+            if (mInFlight != null) {
+                onError(mInFlight, new TimeoutException("load request " + mInFlight.getId() + " timed out"));
+            }
+        }
+    };
+    private Runnable mPendingRetry;
+    /**
+     * 被忽略的重复请求次数
+     */
+    private int mSuppressedCount;
+
+    LoadCoordinator(IFAsyncLoadOp<T> loadOp, LoadConfig config, Listener<T> listener) {
+        this.mLoadOp = loadOp;
+        this.mListener = listener;
+        this.mTimeoutMillis = config.timeoutMillis;
+        this.mMaxRetries = config.maxRetries;
+        this.mRetryDelayMillis = config.retryDelayMillis;
+        this.mMaxRetryDelayMillis = config.maxRetryDelayMillis;
+    }
+
+    /**
+     * 下拉刷新，正在加载更多时先取消
+     *
+     * @return 是否发起了请求（正在刷新时忽略）
+     */
+    boolean refresh() {
+        if (mInFlight != null) {
+            if (mInFlight.isRefresh()) {
+                mSuppressedCount++;
+                return false;
+            }
+            cancel();
+        }
+        start(true, 0);
+        return true;
+    }
+
+    /**
+     * 加载更多
+     *
+     * @return 是否发起了请求（正在刷新或加载更多时忽略）
+     */
+    boolean loadMore() {
+        if (mInFlight != null) {
+            mSuppressedCount++;
+            return false;
+        }
+        start(false, 0);
+        return true;
+    }
+
+    /**
+     * 取消当前的请求和等待中的重试，之后回调的结果会被忽略
+     */
+    void cancel() {
+        Handler handler = PendingOpQueue.mainHandler();
+        if (mInFlight != null) {
+            mInFlight.cancel();
+            mInFlight = null;
+            handler.removeCallbacks(mTimeout);
+        }
+        if (mPendingRetry != null) {
+            handler.removeCallbacks(mPendingRetry);
+            mPendingRetry = null;
+        }
+    }
+
+    boolean isLoading() {
+        return mInFlight != null;
+    }
+
+    boolean isRefreshing() {
+        return mInFlight != null && mInFlight.isRefresh();
+    }
+
+    int getSuppressedCount() {
+        return mSuppressedCount;
+    }
+
+    void post(Runnable runnable) {
+        if (PendingOpQueue.isMainThread()) {
+            runnable.run();
+        } else {
+            PendingOpQueue.mainHandler().post(runnable);
+        }
+    }
+
+    private void start(boolean refresh, int attempt) {
+        mPendingRetry = null;
+        LoadRequest<T> request = new LoadRequest<>(this, ++mNextRequestId, refresh, attempt);
+        mInFlight = request;
+        if (mTimeoutMillis > 0) {
+            PendingOpQueue.mainHandler().postDelayed(mTimeout, mTimeoutMillis);
+        }
+        if (refresh) {
+            mLoadOp.refresh(request);
+        } else {
+            mLoadOp.loadMore(request);
+        }
+    }
+
+    void onResult(LoadRequest<T> request, List<T> items, boolean endOfData) {
+        if (request != mInFlight || request.isCancelled()) {
+            /*已被取消、超时或重复回调*/
+            return;
+        }
+        PendingOpQueue.mainHandler().removeCallbacks(mTimeout);
+        request.cancel();
+        mInFlight = null;
+        mListener.onLoaded(request.isRefresh(), items, endOfData);
+    }
+
+    void onError(LoadRequest<T> request, Throwable error) {
+        if (request != mInFlight || request.isCancelled()) {
+            return;
+        }
+        Handler handler = PendingOpQueue.mainHandler();
+        handler.removeCallbacks(mTimeout);
+        /*超时的请求之后回调的结果不再使用*/
+        request.cancel();
+        final boolean refresh = request.isRefresh();
+        final int attempt = request.getAttempt();
+        if (attempt < mMaxRetries) {
+            /*mInFlight保留到重试开始，期间的重复请求仍然被忽略*/
+            long delay = Math.min(mMaxRetryDelayMillis, mRetryDelayMillis << Math.min(attempt, 30));
+            mPendingRetry = () -> start(refresh, attempt + 1);
+            handler.postDelayed(mPendingRetry, delay);
+            return;
+        }
+        mInFlight = null;
+        mListener.onFailed(refresh, error);
+        mLoadOp.onLoadFailed(refresh, error);
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloudling.recyclerview;
+
+import java.util.List;
+
+/**
+ * 描述：一次异步加载请求，结果通过IFPageSource.Callback回调（可在任意线程），每次请求（包括重试）有不同的id；
+ * 被刷新取消、超时后回调的结果会被忽略，加载时可通过isCancelled提前结束
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public final class LoadRequest<T> implements IFPageSource.Callback<T> {
+    private final LoadCoordinator<T> mCoordinator;
+    private final int mId;
+    private final boolean mRefresh;
+    private final int mAttempt;
+    private volatile boolean mCancelled;
+
+    LoadRequest(LoadCoordinator<T> coordinator, int id, boolean refresh, int attempt) {
+        this.mCoordinator = coordinator;
+        this.mId = id;
+        this.mRefresh = refresh;
+        this.mAttempt = attempt;
+    }
+
+    public int getId() {
+        return mId;
+    }
+
+    /**
+     * 是否是下拉刷新（否则为加载更多）
+     */
+    public boolean isRefresh() {
+        return mRefresh;
+    }
+
+    /**
+     * 第几次重试，0为第一次加载
+     */
+    public int getAttempt() {
+        return mAttempt;
+    }
+
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    void cancel() {
+        mCancelled = true;
+    }
+
+    @Override
+    public void onResult(final List<T> items, final boolean endOfData) {
+        if (!mCancelled) {
+            mCoordinator.post(() -> mCoordinator.onResult(this, items, endOfData));
+        }
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        if (!mCancelled) {
+            mCoordinator.post(() -> mCoordinator.onError(this, error));
+        }
+    }
+}
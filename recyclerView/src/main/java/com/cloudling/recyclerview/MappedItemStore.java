@@ -0,0 +1,329 @@
+package com.cloudling.recyclerview;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 描述：把数据序列化后存到内存映射文件中的List（需在主线程使用），用于几十万、上百万条数据的列表。
+ * 数据只追加写入数据文件（更新时写入新的字节），每条数据在数据文件中的位置和长度存在索引文件中；
+ * 读取时才反序列化，并放入按位置直接映射的小缓存（一屏附近的连续位置不会互相挤掉），
+ * 占用的内存只和缓存大小有关，与数据量无关。
+ * 通过RecyclerViewAdapter.setBackingList（或delegate.backingList）使用，用完后调用close删除文件。
+ * 增删改、batch、addSorted只读写涉及的数据，set不读取旧数据（返回null）；mergeHead逐个读取数据查找相同的item，
+ * removeIf逐个读取数据判断后按连续的段删除（只移动索引，不会全部留在内存中）；
+ * submitList、setFilter/setQuery和需要重新排序的setComparator会把全部数据读到内存中并整体重写容器，
+ * 使用MappedItemStore时调用会抛出IllegalStateException
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class MappedItemStore<T> extends AbstractList<T> implements RandomAccess, Closeable {
+    private static final int DEFAULT_CACHE_SIZE = 256;
+    /**
+     * 数据文件按段映射，每段64MB，一条数据不会跨段
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 26;
+    /**
+     * 每条索引：在数据文件中的位置（long）+ 长度（int，-1表示null）
+     */
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+    private final IFItemSerializer<T> mSerializer;
+    private final File mDataFile;
+    private final File mIndexFile;
+    private final RandomAccessFile mDataAccess;
+    private final RandomAccessFile mIndexAccess;
+    private final int mSegmentSize;
+    private final List<MappedByteBuffer> mSegments = new ArrayList<>();
+    /**
+     * 下一条数据写入的段和段内位置
+     */
+    private int mWriteSegment;
+    private int mWriteOffset;
+    private MappedByteBuffer mIndex;
+    private int mIndexCapacity;
+    private int mSize;
+    /**
+     * 按位置直接映射的缓存：position & (缓存大小 - 1)为槽位
+     */
+    private final Object[] mCacheItems;
+    private final int[] mCachePositions;
+    private final byte[] mMoveBuffer = new byte[INDEX_ENTRY_SIZE * 256];
+
+    /**
+     * @param file 数据文件（一般放在cacheDir下），索引文件为同目录下的file.idx，已存在的内容会被覆盖
+     */
+    public MappedItemStore(File file, IFItemSerializer<T> serializer) throws IOException {
+        this(file, serializer, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize 缓存的数据个数（向上取2的幂），应大于一屏的item数
+     */
+    public MappedItemStore(File file, IFItemSerializer<T> serializer, int cacheSize) throws IOException {
+        this(file, serializer, cacheSize, DEFAULT_SEGMENT_SIZE);
+    }
+
+    MappedItemStore(File file, IFItemSerializer<T> serializer, int cacheSize, int segmentSize) throws IOException {
+        this.mSerializer = serializer;
+        this.mSegmentSize = segmentSize;
+        this.mDataFile = file;
+        this.mIndexFile = new File(file.getPath() + ".idx");
+        this.mDataAccess = new RandomAccessFile(mDataFile, "rw");
+        this.mIndexAccess = new RandomAccessFile(mIndexFile, "rw");
+        mDataAccess.setLength(0);
+        mIndexAccess.setLength(0);
+        int capacity = Integer.highestOneBit(Math.max(cacheSize, 1) * 2 - 1);
+        mCacheItems = new Object[capacity];
+        mCachePositions = new int[capacity];
+        Arrays.fill(mCachePositions, -1);
+        mapIndex(INITIAL_INDEX_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        checkIndex(index, mSize);
+        int slot = index & (mCachePositions.length - 1);
+        if (mCachePositions[slot] == index) {
+            return (T) mCacheItems[slot];
+        }
+        T item = read(index);
+        mCachePositions[slot] = index;
+        mCacheItems[slot] = item;
+        return item;
+    }
+
+    /**
+     * 替换数据，不会为了返回旧数据去反序列化，总是返回null
+     */
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index, mSize);
+        writeIndex(index, element);
+        int slot = index & (mCachePositions.length - 1);
+        mCachePositions[slot] = index;
+        mCacheItems[slot] = element;
+        return null;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkPositionIndex(index, mSize);
+        ensureIndexCapacity(mSize + 1);
+        moveIndex(index, index + 1, mSize - index);
+        mSize++;
+        writeIndex(index, element);
+        if (index < mSize - 1) {
+            invalidateCache();
+        }
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        checkPositionIndex(index, mSize);
+        int count = c.size();
+        if (count == 0) {
+            return false;
+        }
+        ensureIndexCapacity(mSize + count);
+        /*索引只移动一次*/
+        moveIndex(index, index + count, mSize - index);
+        mSize += count;
+        int position = index;
+        for (T element : c) {
+            writeIndex(position++, element);
+        }
+        if (index < mSize - count) {
+            invalidateCache();
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(mSize, c);
+    }
+
+    @Override
+    public T remove(int index) {
+        T old = get(index);
+        removeRange(index, index + 1);
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        /*数据文件只追加，这里只移除索引*/
+        moveIndex(toIndex, fromIndex, mSize - toIndex);
+        mSize -= toIndex - fromIndex;
+        invalidateCache();
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        mWriteSegment = 0;
+        mWriteOffset = 0;
+        invalidateCache();
+        modCount++;
+    }
+
+    /**
+     * 关闭并删除数据文件和索引文件
+     */
+    @Override
+    public void close() throws IOException {
+        mSegments.clear();
+        mIndex = null;
+        mSize = 0;
+        invalidateCache();
+        try {
+            mDataAccess.close();
+            mIndexAccess.close();
+        } finally {
+            mDataFile.delete();
+            mIndexFile.delete();
+        }
+    }
+
+    private T read(int index) {
+        int entry = index * INDEX_ENTRY_SIZE;
+        long offset = mIndex.getLong(entry);
+        int length = mIndex.getInt(entry + 8);
+        if (length < 0) {
+            return null;
+        }
+        ByteBuffer row = mSegments.get((int) (offset / mSegmentSize)).duplicate();
+        int start = (int) (offset % mSegmentSize);
+        row.limit(start + length);
+        row.position(start);
+        return mSerializer.deserialize(row.slice());
+    }
+
+    /**
+     * 把数据追加到数据文件，并把位置写到第index条索引
+     */
+    private void writeIndex(int index, T element) {
+        int entry = index * INDEX_ENTRY_SIZE;
+        if (element == null) {
+            mIndex.putLong(entry, 0);
+            mIndex.putInt(entry + 8, -1);
+            return;
+        }
+        byte[] bytes = mSerializer.serialize(element);
+        if (bytes.length > mSegmentSize) {
+            throw new IllegalArgumentException("Serialized item is larger than " + mSegmentSize + " bytes");
+        }
+        if (mWriteOffset + bytes.length > mSegmentSize) {
+            /*放不下就从下一段开始，一条数据不跨段*/
+            mWriteSegment++;
+            mWriteOffset = 0;
+        }
+        ByteBuffer target = segment(mWriteSegment).duplicate();
+        target.position(mWriteOffset);
+        target.put(bytes);
+        mIndex.putLong(entry, (long) mWriteSegment * mSegmentSize + mWriteOffset);
+        mIndex.putInt(entry + 8, bytes.length);
+        mWriteOffset += bytes.length;
+    }
+
+    private MappedByteBuffer segment(int index) {
+        try {
+            while (mSegments.size() <= index) {
+                /*READ_WRITE映射会把文件扩展到这一段的末尾*/
+                mSegments.add(mDataAccess.getChannel().map(FileChannel.MapMode.READ_WRITE,
+                        (long) mSegments.size() * mSegmentSize, mSegmentSize));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map " + mDataFile, e);
+        }
+        return mSegments.get(index);
+    }
+
+    private void ensureIndexCapacity(int required) {
+        if (required > mIndexCapacity) {
+            long capacity = Math.max((long) mIndexCapacity * 2, required);
+            mapIndex((int) Math.min(capacity, Integer.MAX_VALUE / INDEX_ENTRY_SIZE));
+        }
+    }
+
+    private void mapIndex(int capacity) {
+        try {
+            mIndex = mIndexAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * INDEX_ENTRY_SIZE);
+            mIndexCapacity = capacity;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to map " + mIndexFile, e);
+        }
+    }
+
+    /**
+     * 把count条索引从from移动到to（可以重叠）
+     */
+    private void moveIndex(int from, int to, int count) {
+        if (count <= 0 || from == to) {
+            return;
+        }
+        int chunk = mMoveBuffer.length / INDEX_ENTRY_SIZE;
+        if (to < from) {
+            for (int i = 0; i < count; i += chunk) {
+                copyIndex(from + i, to + i, Math.min(chunk, count - i));
+            }
+        } else {
+            /*向后移动时从末尾开始，避免覆盖还没移动的索引*/
+            for (int end = count; end > 0; end -= chunk) {
+                int n = Math.min(chunk, end);
+                copyIndex(from + end - n, to + end - n, n);
+            }
+        }
+    }
+
+    private void copyIndex(int from, int to, int count) {
+        int length = count * INDEX_ENTRY_SIZE;
+        ByteBuffer source = mIndex.duplicate();
+        source.position(from * INDEX_ENTRY_SIZE);
+        source.get(mMoveBuffer, 0, length);
+        ByteBuffer target = mIndex.duplicate();
+        target.position(to * INDEX_ENTRY_SIZE);
+        target.put(mMoveBuffer, 0, length);
+    }
+
+    private void invalidateCache() {
+        Arrays.fill(mCachePositions, -1);
+        Arrays.fill(mCacheItems, null);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void checkPositionIndex(int index, int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
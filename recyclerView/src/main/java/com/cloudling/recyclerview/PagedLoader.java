@@ -0,0 +1,219 @@
+package com.cloudling.recyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 描述：按页加载IFPageSource的数据，未加载的页以null占位，只在内存中保留可见范围附近的几页，
+ * 离可见范围较远的页释放掉（仍以null占位），滚动回来时重新加载；
+ * 适配器使用SparseItemList作为容器时占位不占用内存，总的内存只和在内存中的页数有关
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class PagedLoader<T> {
+    private static final int STATE_NONE = 0;
+    private static final int STATE_LOADING = 1;
+    private static final int STATE_LOADED = 2;
+
+    private final RecyclerViewAdapter<T> mAdapter;
+    private final IFPageSource<T> mSource;
+    private final int mPageSize;
+    private final int mPrefetchDistance;
+    private final int mMaxResidentPages;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * 每一页的状态
+     */
+    private int[] mPageStates = new int[16];
+    /**
+     * 已知的页数（包括还没加载的占位页）
+     */
+    private int mPageCount;
+    /**
+     * 在内存中的页数
+     */
+    private int mResidentPages;
+    /**
+     * 每次刷新自增，旧的加载结果直接丢弃
+     */
+    private int mGeneration;
+    /**
+     * 最近一次的可见范围（不算headerView的位置）
+     */
+    private int mFirstVisible = RecyclerView.NO_POSITION;
+    private int mLastVisible = RecyclerView.NO_POSITION;
+
+    PagedLoader(RecyclerViewAdapter<T> adapter, IFPageSource<T> source, PagingConfig config) {
+        this.mAdapter = adapter;
+        this.mSource = source;
+        this.mPageSize = config.pageSize;
+        this.mPrefetchDistance = config.prefetchDistance;
+        this.mMaxResidentPages = config.maxResidentPages;
+    }
+
+    /**
+     * 清空数据并从第一页重新加载
+     */
+    void refresh() {
+        mGeneration++;
+        mPageStates = new int[16];
+        mPageCount = 1;
+        mResidentPages = 0;
+        mAdapter.clear();
+        loadPage(0);
+    }
+
+    /**
+     * 可见范围变化（不算headerView的位置），加载附近还没加载的页，释放较远的页
+     */
+    void onVisibleRangeChanged(int first, int last) {
+        mFirstVisible = first;
+        mLastVisible = last;
+        loadNearbyPages();
+        trimPages();
+    }
+
+    private void loadNearbyPages() {
+        if (mFirstVisible < 0 || mLastVisible < 0) {
+            return;
+        }
+        int fromPage = Math.max(0, (mFirstVisible - mPrefetchDistance) / mPageSize);
+        int toPage = Math.min(mPageCount - 1, (mLastVisible + mPrefetchDistance) / mPageSize);
+        for (int page = fromPage; page <= toPage; page++) {
+            if (mPageStates[page] == STATE_NONE) {
+                loadPage(page);
+            }
+        }
+    }
+
+    private void loadPage(final int page) {
+        ensureCapacity(page);
+        mPageStates[page] = STATE_LOADING;
+        final int generation = mGeneration;
+        mSource.loadPage(page, mPageSize, new IFPageSource.Callback<T>() {
+            @Override
+            public void onResult(final List<T> items, final boolean endOfData) {
+                runOnMainThread(() -> onPageLoaded(generation, page, items, endOfData));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                runOnMainThread(() -> {
+                    if (generation == mGeneration && mPageStates[page] == STATE_LOADING) {
+                        /*不立即重试，等下一次滚动时再加载*/
+                        mPageStates[page] = STATE_NONE;
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageLoaded(int generation, final int page, List<T> result, boolean endOfData) {
+        if (generation != mGeneration || page >= mPageCount || mPageStates[page] != STATE_LOADING) {
+            /*已刷新或重复回调*/
+            return;
+        }
+        final List<T> items = result == null ? new ArrayList<T>() : new ArrayList<>(result);
+        if (items.size() > mPageSize) {
+            items.subList(mPageSize, items.size()).clear();
+        }
+        /*不足一页说明已经是最后一页*/
+        final boolean end = endOfData || items.size() < mPageSize;
+        mPageStates[page] = STATE_LOADED;
+        mResidentPages++;
+        if (end) {
+            /*后面的页都不存在了（数据源变短的情况）*/
+            for (int i = page + 1; i < mPageCount; i++) {
+                if (mPageStates[i] == STATE_LOADED) {
+                    mResidentPages--;
+                }
+                mPageStates[i] = STATE_NONE;
+            }
+        }
+        mAdapter.batch(tx -> {
+            int start = page * mPageSize;
+            int slots = Math.max(0, Math.min(mPageSize, tx.size() - start));
+            int count = items.size();
+            for (int i = 0; i < Math.min(count, slots); i++) {
+                tx.update(start + i, items.get(i), null);
+            }
+            if (count > slots) {
+                tx.add(items.subList(slots, count), start + slots);
+            } else if (count < slots) {
+                tx.removeRange(start + count, slots - count);
+            }
+            if (end) {
+                /*后面的占位页都不需要了*/
+                mPageCount = page + 1;
+                tx.removeRange(start + count, tx.size() - (start + count));
+            } else if (page == mPageCount - 1) {
+                /*追加下一页的占位，滚动到附近时再加载*/
+                ensureCapacity(mPageCount);
+                mPageCount++;
+                tx.add(Collections.<T>nCopies(mPageSize, null), tx.size());
+            }
+        });
+        loadNearbyPages();
+        trimPages();
+    }
+
+    /**
+     * 内存中的页数超出上限时，释放离可见范围最远的页
+     */
+    private void trimPages() {
+        if (mResidentPages <= mMaxResidentPages || mFirstVisible < 0 || mLastVisible < 0) {
+            return;
+        }
+        int keepFrom = Math.max(0, (mFirstVisible - mPrefetchDistance) / mPageSize);
+        int keepTo = (mLastVisible + mPrefetchDistance) / mPageSize;
+        int center = (mFirstVisible + mLastVisible) / 2 / mPageSize;
+        while (mResidentPages > mMaxResidentPages) {
+            int farthest = -1;
+            for (int page = 0; page < mPageCount; page++) {
+                if (mPageStates[page] == STATE_LOADED && (page < keepFrom || page > keepTo)
+                        && (farthest < 0 || Math.abs(page - center) > Math.abs(farthest - center))) {
+                    farthest = page;
+                }
+            }
+            if (farthest < 0) {
+                /*剩下的都在可见范围附近*/
+                return;
+            }
+            evictPage(farthest);
+        }
+    }
+
+    private void evictPage(final int page) {
+        mPageStates[page] = STATE_NONE;
+        mResidentPages--;
+        mAdapter.batch(tx -> {
+            int start = page * mPageSize;
+            int end = Math.min(tx.size(), start + mPageSize);
+            for (int i = start; i < end; i++) {
+                tx.update(i, null, null);
+            }
+        });
+    }
+
+    private void ensureCapacity(int page) {
+        if (page >= mPageStates.length) {
+            int[] states = new int[Math.max(page + 1, mPageStates.length * 2)];
+            System.arraycopy(mPageStates, 0, states, 0, mPageStates.length);
+            mPageStates = states;
+        }
+    }
+
+    private void runOnMainThread(Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            mMainHandler.post(runnable);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cloudling.recyclerview;
+
+/**
+ * 描述：分页加载的配置
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class PagingConfig {
+    /**
+     * 每页的个数
+     */
+    int pageSize = 20;
+    /**
+     * 距离可见范围多少个item以内的页需要提前加载
+     */
+    int prefetchDistance = 20;
+    /**
+     * 最多保留在内存中的页数，超出时释放离可见范围最远的页（以null占位，滚动回来时重新加载）
+     */
+    int maxResidentPages = 10;
+
+    public PagingConfig pageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be > 0");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    public PagingConfig prefetchDistance(int prefetchDistance) {
+        this.prefetchDistance = Math.max(0, prefetchDistance);
+        return this;
+    }
+
+    public PagingConfig maxResidentPages(int maxResidentPages) {
+        if (maxResidentPages < 2) {
+            throw new IllegalArgumentException("maxResidentPages must be >= 2");
+        }
+        this.maxResidentPages = maxResidentPages;
+        return this;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cloudling.recyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 描述：非主线程调用适配器的增删改方法时，操作先放入无锁队列，在主线程的下一帧一次性取出，
+ * 放在同一个batch中执行，同一帧内的操作合并成一组通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class PendingOpQueue<T> implements Runnable, Choreographer.FrameCallback {
+    private static volatile Handler sMainHandler;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private final ConcurrentLinkedQueue<IFBatch<T>> mOps = new ConcurrentLinkedQueue<>();
+    /**
+     * 是否已经安排了下一帧执行，避免同一帧重复安排
+     */
+    private final AtomicBoolean mScheduled = new AtomicBoolean();
+
+    PendingOpQueue(RecyclerViewAdapter<T> adapter) {
+        this.mAdapter = adapter;
+    }
+
+    /**
+     * 当前是否是主线程（没有主线程Looper的环境，如JVM单元测试，也当作主线程）
+     */
+    static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 放入队列（任意线程），在主线程的下一帧执行
+     */
+    void enqueue(IFBatch<T> op) {
+        mOps.offer(op);
+        if (mScheduled.compareAndSet(false, true)) {
+            mainHandler().post(this);
+        }
+    }
+
+    /**
+     * 立即执行队列中的操作（主线程），主线程直接修改数据前调用，保证先入队的操作先执行
+     */
+    void flush() {
+        if (!mOps.isEmpty()) {
+            drain();
+        }
+    }
+
+    @Override
+    public void run() {
+        /*Choreographer是线程相关的，需要在主线程获取*/
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        drain();
+    }
+
+    private void drain() {
+        /*先清除标记，执行期间新入队的操作会安排到下一帧（或者在这一次中一并执行）*/
+        mScheduled.set(false);
+        if (mOps.isEmpty()) {
+            return;
+        }
+        mAdapter.runBatch(new IFBatch<T>() {
+            @Override
+            public void run(BatchTransaction<T> tx) {
+                IFBatch<T> op;
+                while ((op = mOps.poll()) != null) {
+                    op.run(tx);
+                }
+            }
+        });
+    }
+
+    /**
+     * 共享的主线程Handler，第一次使用时创建
+     */
+    static Handler mainHandler() {
+        if (sMainHandler == null) {
+            synchronized (PendingOpQueue.class) {
+                if (sMainHandler == null) {
+                    sMainHandler = new Handler(Looper.getMainLooper());
+                }
+            }
+        }
+        return sMainHandler;
+    }
+}
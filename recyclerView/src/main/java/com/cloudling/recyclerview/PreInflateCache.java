@@ -0,0 +1,139 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.ViewGroup;
+
+import androidx.collection.SparseArrayCompat;
+import androidx.databinding.ViewDataBinding;
+
+import java.util.ArrayDeque;
+
+/**
+ * 描述：ViewDataBinding预加载缓存（需在主线程使用）。
+ * 在主线程空闲时每次创建一个ViewDataBinding放入缓存，onCreateViewHolder优先从缓存中取，取不到再调用IFAdapter.createView。
+ * DataBinding依赖创建线程的Looper/Choreographer，所以在主线程的空闲时间创建而不是在后台线程
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class PreInflateCache {
+    private final IFAdapter<?> mIFAdapter;
+    private final ViewGroup mParent;
+    /**
+     * viewType -> 已创建好的ViewDataBinding
+     */
+    private final SparseArrayCompat<ArrayDeque<ViewDataBinding>> mCache = new SparseArrayCompat<>();
+    /**
+     * viewType -> 还需要创建的个数
+     */
+    private final SparseArrayCompat<int[]> mPending = new SparseArrayCompat<>();
+    private int mHitCount;
+    private int mMissCount;
+    private boolean mIdleHandlerAdded;
+
+    private final MessageQueue.IdleHandler mIdleHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            /*每次空闲只创建一个，避免长时间占用主线程*/
+            for (int i = 0; i < mPending.size(); i++) {
+                int[] remaining = mPending.valueAt(i);
+                if (remaining[0] > 0) {
+                    remaining[0]--;
+                    int viewType = mPending.keyAt(i);
+                    ViewDataBinding binding = mIFAdapter.createView(mParent, viewType);
+                    if (binding != null) {
+                        queueOf(viewType).offer(binding);
+                    }
+                    return true;
+                }
+            }
+            mPending.clear();
+            mIdleHandlerAdded = false;
+            return false;
+        }
+    };
+
+    /**
+     * @param parent 列表控件，作为createView的parent
+     */
+    PreInflateCache(IFAdapter<?> adapter, ViewGroup parent) {
+        this.mIFAdapter = adapter;
+        this.mParent = parent;
+    }
+
+    /**
+     * 在主线程空闲时预先创建count个该viewType的ViewDataBinding
+     */
+    public void preInflate(int viewType, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int[] remaining = mPending.get(viewType);
+        if (remaining == null) {
+            mPending.put(viewType, new int[]{count});
+        } else {
+            remaining[0] += count;
+        }
+        if (!mIdleHandlerAdded) {
+            mIdleHandlerAdded = true;
+            Looper.myQueue().addIdleHandler(mIdleHandler);
+        }
+    }
+
+    /**
+     * 从缓存中取出一个该viewType的ViewDataBinding，没有则返回null
+     */
+    ViewDataBinding obtain(int viewType) {
+        ArrayDeque<ViewDataBinding> queue = mCache.get(viewType);
+        ViewDataBinding binding = queue != null ? queue.poll() : null;
+        if (binding != null) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+        return binding;
+    }
+
+    /**
+     * 停止预加载并清空缓存
+     */
+    public void clear() {
+        if (mIdleHandlerAdded) {
+            mIdleHandlerAdded = false;
+            Looper.myQueue().removeIdleHandler(mIdleHandler);
+        }
+        mPending.clear();
+        mCache.clear();
+    }
+
+    /**
+     * 从缓存中取到的次数
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 缓存中没有、需要同步创建的次数
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 该viewType当前缓存的个数
+     */
+    public int getCachedCount(int viewType) {
+        ArrayDeque<ViewDataBinding> queue = mCache.get(viewType);
+        return queue != null ? queue.size() : 0;
+    }
+
+    private ArrayDeque<ViewDataBinding> queueOf(int viewType) {
+        ArrayDeque<ViewDataBinding> queue = mCache.get(viewType);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            mCache.put(viewType, queue);
+        }
+        return queue;
+    }
+}
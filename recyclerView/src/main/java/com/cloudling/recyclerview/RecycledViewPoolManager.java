@@ -0,0 +1,194 @@
+package com.cloudling.recyclerview;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Configuration;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.collection.SparseArrayCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 描述：共享的RecycledViewPool管理（需在主线程使用）。
+ * 同一个Activity中使用相同key的列表（如多个Fragment、ViewPager的各页）共用一个缓存池，
+ * 新打开的列表可以直接复用其他列表回收的ViewHolder。缓存的View持有所在的Activity，所以不同Activity之间不共享，
+ * Activity销毁时（onActivityDestroyed）自动清空并移除它的缓存池，也可以调用release提前释放；内存不足时清空所有缓存池
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public final class RecycledViewPoolManager {
+    private static RecycledViewPoolManager sInstance;
+    /**
+     * Activity（没有Activity时为传入的Context） -> (key -> 缓存池)，在Activity销毁时移除
+     */
+    private final Map<Context, Map<Object, RecyclerView.RecycledViewPool>> mPools = new HashMap<>();
+    /**
+     * key -> (viewType -> 最大缓存数)
+     */
+    private final Map<Object, SparseArrayCompat<Integer>> mMaxRecycledViews = new HashMap<>();
+    /**
+     * 已经注册了生命周期回调的Application
+     */
+    private Application mRegisteredApplication;
+
+    private RecycledViewPoolManager() {
+    }
+
+    public static RecycledViewPoolManager getInstance() {
+        if (sInstance == null) {
+            sInstance = new RecycledViewPoolManager();
+        }
+        return sInstance;
+    }
+
+    /**
+     * 获取共享的缓存池
+     *
+     * @param context 列表所在的Context
+     * @param key     共享的标识（一般用IFAdapter的类型），使用相同key的列表其viewType对应的布局必须相同
+     */
+    public RecyclerView.RecycledViewPool obtain(@NonNull Context context, @NonNull Object key) {
+        registerCallbacks(context);
+        Context owner = ownerOf(context);
+        Map<Object, RecyclerView.RecycledViewPool> pools = mPools.get(owner);
+        if (pools == null) {
+            pools = new HashMap<>();
+            mPools.put(owner, pools);
+        }
+        RecyclerView.RecycledViewPool pool = pools.get(key);
+        if (pool == null) {
+            pool = new RecyclerView.RecycledViewPool();
+            SparseArrayCompat<Integer> capacities = mMaxRecycledViews.get(key);
+            if (capacities != null) {
+                for (int i = 0; i < capacities.size(); i++) {
+                    pool.setMaxRecycledViews(capacities.keyAt(i), capacities.valueAt(i));
+                }
+            }
+            pools.put(key, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * 设置某个viewType的最大缓存数（默认为5），对已创建和之后创建的该key的缓存池都生效
+     */
+    public void setMaxRecycledViews(@NonNull Object key, int viewType, int max) {
+        SparseArrayCompat<Integer> capacities = mMaxRecycledViews.get(key);
+        if (capacities == null) {
+            capacities = new SparseArrayCompat<>();
+            mMaxRecycledViews.put(key, capacities);
+        }
+        capacities.put(viewType, max);
+        for (Map<Object, RecyclerView.RecycledViewPool> pools : mPools.values()) {
+            RecyclerView.RecycledViewPool pool = pools.get(key);
+            if (pool != null) {
+                pool.setMaxRecycledViews(viewType, max);
+            }
+        }
+    }
+
+    /**
+     * 清空并移除该Context（所在的Activity）的所有缓存池，Activity销毁时会自动调用
+     */
+    public void release(@NonNull Context context) {
+        Map<Object, RecyclerView.RecycledViewPool> pools = mPools.remove(ownerOf(context));
+        if (pools != null) {
+            for (RecyclerView.RecycledViewPool pool : pools.values()) {
+                pool.clear();
+            }
+        }
+    }
+
+    /**
+     * 清空所有缓存池中的ViewHolder
+     */
+    public void clear() {
+        for (Map<Object, RecyclerView.RecycledViewPool> pools : mPools.values()) {
+            for (RecyclerView.RecycledViewPool pool : pools.values()) {
+                pool.clear();
+            }
+        }
+    }
+
+    /**
+     * 缓存池归属的Context：能找到Activity时用Activity，否则用传入的Context
+     */
+    private static Context ownerOf(Context context) {
+        Context current = context;
+        while (current instanceof ContextWrapper) {
+            if (current instanceof Activity) {
+                return current;
+            }
+            Context base = ((ContextWrapper) current).getBaseContext();
+            if (base == current) {
+                break;
+            }
+            current = base;
+        }
+        return context;
+    }
+
+    private void registerCallbacks(Context context) {
+        Context applicationContext = context.getApplicationContext();
+        if (!(applicationContext instanceof Application) || applicationContext == mRegisteredApplication) {
+            return;
+        }
+        mRegisteredApplication = (Application) applicationContext;
+        mRegisteredApplication.registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityCreated(@NonNull Activity activity, Bundle savedInstanceState) {
+            }
+
+            @Override
+            public void onActivityStarted(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivityStopped(@NonNull Activity activity) {
+            }
+
+            @Override
+            public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            }
+
+            @Override
+            public void onActivityDestroyed(@NonNull Activity activity) {
+                /*之后RecyclerView从窗口移除时回收的item只会进入已不被引用的缓存池，随Activity一起释放*/
+                release(activity);
+            }
+        });
+        mRegisteredApplication.registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                /*退到后台或者运行时内存不足时释放缓存*/
+                if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                    clear();
+                }
+            }
+
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                clear();
+            }
+        });
+    }
+}
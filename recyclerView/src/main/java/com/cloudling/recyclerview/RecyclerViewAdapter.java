@@ -5,52 +5,134 @@ import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
 import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
- * 描述：RecyclerView适配器（结合ViewDataBinding使用）
+ * 描述：RecyclerView适配器（结合ViewDataBinding使用）。
+ * add、addAll、update、remove、removeRange、move、clear、batch可以在任意线程调用：非主线程调用时操作放入队列，
+ * 在主线程的下一帧合并成一次batch执行；其他方法需在主线程调用
  * 联系: 1966353889@qq.com
  * 日期: 2019/7/5
  */
 public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<T>> {
+    /**
+     * mergeHead的返回值：新的第一页和当前数据没有相同的item，替换了全部数据
+     */
+    public static final int MERGE_REPLACED_ALL = -1;
     /**
      * 数据源
      */
-    private ArrayList<T> data = new ArrayList<>();
+    private List<T> data = new ArrayList<>();
+    /**
+     * getData返回的只读视图
+     */
+    private List<T> mReadOnlyData = Collections.unmodifiableList(data);
     /**
      * item视图接口
      */
     private IFAdapter<T> mIFAdapter;
+    /**
+     * submitList的后台比对
+     */
+    private final ListDiffer<T> mDiffer = new ListDiffer<>(this);
+    /**
+     * setFilter/setQuery的后台过滤
+     */
+    private final ListFilter<T> mFilter = new ListFilter<>(this);
+    /**
+     * 非主线程调用增删改方法时的操作队列，在主线程的下一帧执行
+     */
+    private final PendingOpQueue<T> mPendingOps = new PendingOpQueue<>(this);
+    /**
+     * 排序模式的比较器，为null时不排序
+     */
+    private Comparator<T> mComparator;
+    /**
+     * ViewDataBinding预加载缓存，为null时不使用
+     */
+    private PreInflateCache mPreInflateCache;
+    /**
+     * 创建/绑定耗时统计，为null时不统计
+     */
+    private AdapterMetrics mMetrics;
 
     public RecyclerViewAdapter(IFAdapter<T> mIFAdapter) {
         this.mIFAdapter = mIFAdapter;
+        /*实现了IFKeyAdapter才使用稳定id，必须在注册监听（设置给RecyclerView）之前开启*/
+        setHasStableIds(mIFAdapter instanceof IFKeyAdapter);
     }
 
     /**
      * 添加数据，不会覆盖原有的数据
      */
     public void add(ArrayList<T> list) {
+        if (!PendingOpQueue.isMainThread()) {
+            final ArrayList<T> copy = list != null ? new ArrayList<>(list) : null;
+            mPendingOps.enqueue(tx -> tx.add(copy));
+            return;
+        }
+        mPendingOps.flush();
         if (list != null) {
             data.addAll(data.size(), list);
             notifyItemRangeInserted(data.size() - list.size(), list.size());
         }
     }
 
-    public ArrayList<T> getData() {
-        return this.data;
+    /**
+     * 当前数据的只读视图（随适配器的修改而变化），修改数据请使用适配器的方法
+     */
+    public List<T> getData() {
+        return mReadOnlyData;
+    }
+
+    /**
+     * 更换存放数据的容器（默认为ArrayList），原有的数据会转移到新的容器中。
+     * 在中间或头部频繁插入、拖拽排序的大列表可以使用GapBufferList
+     *
+     * @param list 空的容器，需支持随机访问
+     */
+    public void setBackingList(List<T> list) {
+        if (list == null || list == data) {
+            return;
+        }
+        list.clear();
+        list.addAll(data);
+        data = list;
+        mReadOnlyData = Collections.unmodifiableList(list);
     }
 
     /**
      * 添加数据，不会覆盖原有的数据
+     *
+     * @param index 插入的位置，超出范围时插入到开头或末尾
      */
     public void add(T single, int index) {
+        if (!PendingOpQueue.isMainThread()) {
+            final int insertIndex = index;
+            mPendingOps.enqueue(tx -> tx.add(single, insertIndex));
+            return;
+        }
+        mPendingOps.flush();
         if (single != null) {
-            data.add(single);
+            if (index < 0) {
+                index = 0;
+            } else if (index > data.size()) {
+                index = data.size();
+            }
+            data.add(index, single);
+            /*点击时才获取位置，不需要再刷新后面的item*/
             notifyItemInserted(index);
-            /*保证position的正确性*/
-            notifyItemRangeChanged(index, getItemCount() - index);
         }
     }
 
@@ -58,6 +140,13 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
      * 添加数据，不会覆盖原有的数据
      */
     public void add(ArrayList<T> list, int index) {
+        if (!PendingOpQueue.isMainThread()) {
+            final ArrayList<T> copy = list != null ? new ArrayList<>(list) : null;
+            final int insertIndex = index;
+            mPendingOps.enqueue(tx -> tx.add(copy, insertIndex));
+            return;
+        }
+        mPendingOps.flush();
         if (list != null && index < data.size()) {
             if (index < 0) {
                 index = 0;
@@ -67,10 +156,37 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
         }
     }
 
+    /**
+     * 更新数据
+     *
+     * @param index   待更新数据的位置
+     * @param payload 局部刷新的payload（IFAdapter需实现IFPayloadAdapter），为null时整项刷新
+     */
+    public void update(int index, T single, Object payload) {
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(tx -> tx.update(index, single, payload));
+            return;
+        }
+        mPendingOps.flush();
+        if (index >= 0 && index < data.size()) {
+            data.set(index, single);
+            notifyItemChanged(index, payload);
+        }
+    }
+
     /**
      * 添加数据，会覆盖原有的数据
      */
     public void addAll(ArrayList<T> list) {
+        if (!PendingOpQueue.isMainThread()) {
+            if (list != null) {
+                final ArrayList<T> copy = new ArrayList<>(list);
+                /*同一帧中合并成范围通知，不再整体刷新*/
+                mPendingOps.enqueue(tx -> tx.removeRange(0, tx.size()).add(copy));
+            }
+            return;
+        }
+        mPendingOps.flush();
         if (list != null) {
             if (!data.isEmpty()) {
                 data.clear();
@@ -80,23 +196,460 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
         }
     }
 
+    /**
+     * 批量修改数据，结束时把所有操作合并成最少的范围通知一次性分发
+     */
+    public void batch(IFBatch<T> batch) {
+        if (batch == null) {
+            return;
+        }
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(batch);
+            return;
+        }
+        mPendingOps.flush();
+        runBatch(batch);
+    }
+
+    /**
+     * 在主线程执行批量操作
+     */
+    void runBatch(IFBatch<T> batch) {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        BatchTransaction<T> tx = new BatchTransaction<>(data, merger);
+        try {
+            batch.run(tx);
+        } finally {
+            /*即使中途抛出异常，已经修改的数据也要通知出去，保证和RecyclerView一致*/
+            tx.close();
+            merger.dispatchTo(new AdapterListUpdateCallback(this));
+        }
+    }
+
+    /**
+     * 设置数据比对接口，设置后才可以使用submitList
+     */
+    public void setDiffCallback(IFDiffCallback<T> callback) {
+        mDiffer.setDiffCallback(callback);
+    }
+
+    /**
+     * 设置submitList比对和setFilter/setQuery过滤的后台线程，不设置则使用默认的共享线程
+     */
+    public void setDiffExecutor(Executor executor) {
+        mDiffer.setExecutor(executor);
+        mFilter.setExecutor(executor);
+    }
+
+    /**
+     * 在后台线程按条件过滤（需在主线程调用），只显示符合条件的数据，只刷新增删的item。
+     * 第一次过滤时保存当前的完整数据，之后每次都在完整数据上过滤，clearFilter后恢复；新的过滤会取消还没完成的过滤。
+     * 过滤期间的增删改会同步到完整数据，新增或修改的数据按当前条件重新过滤
+     *
+     * @param filter 在后台线程中调用
+     */
+    public void setFilter(IFPredicate<T> filter) {
+        checkInMemory("setFilter");
+        mPendingOps.flush();
+        mFilter.filter(filter);
+    }
+
+    /**
+     * 在后台线程按关键字过滤（需在主线程调用），规则同setFilter；
+     * 关键字是上一次的延长（继续输入）时只在上一次的结果中过滤
+     */
+    public void setQuery(String query, IFQueryMatcher<T> matcher) {
+        checkInMemory("setQuery");
+        mPendingOps.flush();
+        mFilter.query(query == null ? "" : query, matcher);
+    }
+
+    /**
+     * 取消过滤，恢复完整的数据
+     */
+    public void clearFilter() {
+        mPendingOps.flush();
+        mFilter.clear();
+    }
+
+    /**
+     * 是否正在过滤（显示的是过滤后的数据）
+     */
+    public boolean isFiltering() {
+        return mFilter.isFiltering();
+    }
+
+    /**
+     * 替换为过滤后的数据并分发增删通知（会重写整个容器，只用于数据在内存中的过滤）
+     */
+    void applyUpdates(List<T> newList, UpdateOpMerger updates) {
+        data.clear();
+        data.addAll(newList);
+        updates.dispatchTo(new AdapterListUpdateCallback(this));
+    }
+
+    /**
+     * 添加数据，会覆盖原有的数据（在后台比对新旧数据，只刷新有变化的item，需先设置IFDiffCallback）
+     */
+    public void submitList(List<T> list) {
+        submitList(list, null);
+    }
+
+    /**
+     * 添加数据，会覆盖原有的数据（在后台比对新旧数据，只刷新有变化的item，需先设置IFDiffCallback）
+     *
+     * @param commitCallback 刷新完成后的回调
+     */
+    public void submitList(List<T> list, Runnable commitCallback) {
+        checkInMemory("submitList");
+        mPendingOps.flush();
+        mDiffer.submitList(list, commitCallback);
+    }
+
+    /**
+     * 比对、过滤、重新排序会拷贝全部数据并整体重写容器，不能用于MappedItemStore
+     */
+    private void checkInMemory(String operation) {
+        if (data instanceof MappedItemStore) {
+            throw new IllegalStateException(operation + "会把全部数据读到内存中并重写容器，不能用于MappedItemStore");
+        }
+    }
+
+    /**
+     * 替换为比对后的数据并分发差异通知
+     *
+     * @param result 比对结果，为null时表示新旧数据有一边为空
+     */
+    void applyDiff(List<T> newList, DiffUtil.DiffResult result) {
+        int oldSize = data.size();
+        data.clear();
+        data.addAll(newList);
+        if (result != null) {
+            result.dispatchUpdatesTo(this);
+        } else if (oldSize > 0) {
+            notifyItemRangeRemoved(0, oldSize);
+        } else if (!data.isEmpty()) {
+            notifyItemRangeInserted(0, data.size());
+        }
+    }
+
+    /**
+     * 下拉刷新合并（需在主线程调用）：用刷新得到的第一页替换列表头部对应的数据，后面已加载的页保留，
+     * 只通知增删改移的item，第一个可见item不变时列表不会跳动。
+     * 头部范围是从开头起和新一页连续重叠的部分：到最后一个与新一页相同的item为止，中间连续不同的item超过一页时结束，
+     * 头部中新一页没有的item被删除；头部之后与新一页相同的item（被顶到前面的）只删除这一个，由新一页插入到头部。
+     * 一个相同的都没有时说明和后面的页已经接不上，替换全部数据并返回MERGE_REPLACED_ALL。
+     * 按IFDiffCallback比对，没有设置时按IFKeyAdapter的key判断是否同一个item（item需唯一）、equals判断内容是否相同
+     *
+     * @return 被替换的头部item数，替换了全部数据时为MERGE_REPLACED_ALL（调用方需要重置页码、是否有更多等分页状态）
+     */
+    public int mergeHead(List<T> page) {
+        if (!PendingOpQueue.isMainThread()) {
+            throw new IllegalStateException("mergeHead需要在主线程调用");
+        }
+        mPendingOps.flush();
+        final IFDiffCallback<T> callback = getHeadDiffCallback();
+        final List<T> newHead = page == null ? new ArrayList<T>() : new ArrayList<>(page);
+        /*标记头部中和新一页相同的item，以及头部之后被顶到前面的item；比较key很快，新一页的item都找到后停止*/
+        final BitSet matched = new BitSet();
+        final BitSet bumped = new BitSet();
+        boolean[] found = new boolean[newHead.size()];
+        int remaining = 0;
+        for (T newItem : newHead) {
+            if (newItem != null) {
+                remaining++;
+            }
+        }
+        int window = 0;
+        int gap = 0;
+        boolean inHead = true;
+        for (int i = 0; i < data.size() && remaining > 0; i++) {
+            T oldItem = data.get(i);
+            int match = -1;
+            if (oldItem != null) {
+                for (int j = 0; j < newHead.size(); j++) {
+                    T newItem = newHead.get(j);
+                    if (newItem != null && callback.areItemsTheSame(oldItem, newItem)) {
+                        match = j;
+                        break;
+                    }
+                }
+            }
+            if (match >= 0 && !found[match]) {
+                found[match] = true;
+                remaining--;
+            }
+            if (!inHead) {
+                if (match >= 0) {
+                    bumped.set(i);
+                }
+            } else if (match >= 0) {
+                matched.set(i);
+                window = i + 1;
+                gap = 0;
+            } else if (++gap > newHead.size()) {
+                inHead = false;
+            }
+        }
+        if (window == 0 && bumped.isEmpty()) {
+            runBatch(tx -> tx.removeRange(0, tx.size()).add(newHead));
+            return MERGE_REPLACED_ALL;
+        }
+        /*先删除被顶到前面的item和头部中新一页没有的item（从后往前，连续的合并成一次通知），
+        剩下的和新一页比对，比对的规模只和一页的大小有关*/
+        final int headEnd = window;
+        runBatch(tx -> {
+            int end = tx.size();
+            while ((end = bumped.previousSetBit(end - 1)) >= 0) {
+                int start = bumped.previousClearBit(end) + 1;
+                tx.removeRange(start, end - start + 1);
+                end = start;
+            }
+            end = headEnd;
+            while (end > 0) {
+                if (matched.get(end - 1)) {
+                    end--;
+                    continue;
+                }
+                int start = matched.previousSetBit(end - 1) + 1;
+                tx.removeRange(start, end - start);
+                end = start;
+            }
+        });
+        int kept = matched.cardinality();
+        List<T> oldHead = new ArrayList<>(data.subList(0, kept));
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new ListDiffer.SnapshotCallback<>(oldHead, newHead, callback));
+        data.subList(0, kept).clear();
+        data.addAll(0, newHead);
+        result.dispatchUpdatesTo(this);
+        return window;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IFDiffCallback<T> getHeadDiffCallback() {
+        IFDiffCallback<T> callback = mDiffer.getDiffCallback();
+        if (callback != null) {
+            return callback;
+        }
+        if (!(mIFAdapter instanceof IFKeyAdapter)) {
+            throw new IllegalStateException("mergeHead需要先设置IFDiffCallback或实现IFKeyAdapter");
+        }
+        final IFKeyAdapter<T> keyAdapter = (IFKeyAdapter<T>) mIFAdapter;
+        return new IFDiffCallback<T>() {
+            @Override
+            public boolean areItemsTheSame(T oldItem, T newItem) {
+                return keyAdapter.getItemKey(oldItem) == keyAdapter.getItemKey(newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(T oldItem, T newItem) {
+                return oldItem.equals(newItem);
+            }
+        };
+    }
+
+    /**
+     * 开启排序模式：当前数据按comparator排序一次，之后通过addSorted、updateSorted添加和更新的数据按二分查找放到对应的位置。
+     * 排序模式下不要再用add(T, index)等指定位置的方法，否则顺序会被打乱
+     *
+     * @param comparator 为null时关闭排序模式
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setComparator(Comparator<T> comparator) {
+        mPendingOps.flush();
+        if (comparator != null && data.size() > 1 && !isSorted(comparator)) {
+            checkInMemory("setComparator");
+            this.mComparator = comparator;
+            Object[] items = data.toArray();
+            Arrays.sort(items, (Comparator) comparator);
+            for (int i = 0; i < items.length; i++) {
+                data.set(i, (T) items[i]);
+            }
+            notifyDataSetChanged();
+        } else {
+            this.mComparator = comparator;
+        }
+    }
+
+    /**
+     * 按排序插入数据（需先setComparator），排序相同的放在最后
+     *
+     * @return 插入的位置
+     */
+    public int addSorted(T single) {
+        mPendingOps.flush();
+        int index = sortedIndexOf(single, 0, data.size());
+        data.add(index, single);
+        notifyItemInserted(index);
+        return index;
+    }
+
+    /**
+     * 按排序批量插入数据（需先setComparator），新数据排序后和原数据合并，连续插入的位置合并成一次范围通知
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void addSorted(Collection<T> list) {
+        mPendingOps.flush();
+        if (list == null || list.isEmpty()) {
+            return;
+        }
+        checkSorted();
+        Object[] items = list.toArray();
+        Arrays.sort(items, (Comparator) mComparator);
+        /*直接插入到原数据中（不拷贝整个列表，MappedItemStore只写入新数据），新数据已排序，每次只在上一个插入位置之后查找*/
+        UpdateOpMerger updates = new UpdateOpMerger();
+        int from = 0;
+        for (Object item : items) {
+            T newItem = (T) item;
+            int index = sortedIndexOf(newItem, from, data.size());
+            data.add(index, newItem);
+            updates.onInserted(index, 1);
+            from = index + 1;
+        }
+        updates.dispatchTo(new AdapterListUpdateCallback(this));
+    }
+
+    /**
+     * 更新数据并按新的排序移动到对应的位置（需先setComparator），位置变化时只通知一次移动（再加上内容刷新）
+     *
+     * @return 更新后的位置
+     */
+    public int updateSorted(int index, T single) {
+        mPendingOps.flush();
+        if (index < 0 || index >= data.size()) {
+            return -1;
+        }
+        checkSorted();
+        data.remove(index);
+        int newIndex = sortedIndexOf(single, 0, data.size());
+        data.add(newIndex, single);
+        if (newIndex != index) {
+            notifyItemMoved(index, newIndex);
+        }
+        notifyItemChanged(newIndex);
+        return newIndex;
+    }
+
+    private boolean isSorted(Comparator<T> comparator) {
+        for (int i = 1; i < data.size(); i++) {
+            if (comparator.compare(data.get(i - 1), data.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkSorted() {
+        if (mComparator == null) {
+            throw new IllegalStateException("排序模式需要先设置Comparator");
+        }
+    }
+
+    /**
+     * 在[from, to)中二分查找第一个排序大于item的位置
+     */
+    private int sortedIndexOf(T item, int from, int to) {
+        checkSorted();
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mComparator.compare(data.get(mid), item) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * 删除数据
      *
      * @param index 待删除数据的位置
      */
     public void remove(int index) {
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(tx -> tx.remove(index));
+            return;
+        }
+        mPendingOps.flush();
         if (index >= 0 && data != null && index < data.size()) {
             data.remove(index);
+            /*点击时才获取位置，不需要再刷新后面的item*/
             notifyItemRemoved(index);
-            /*传入的参数position，它是在进行onBind操作时确定的，在删除单项后，
-              已经出现在画面里的项不会再有调用onBind机会，这样它保留的position
-              一直是未进行删除操作前的postion值。对于尚未进入画面的单项来说，它
-              会使用新的position值，这个值是正确的。所以需要调用notifyItemRangeChanged刷新下当前页面中的item*/
-            notifyItemRangeChanged(index, getItemCount() - index);
         }
     }
 
+    /**
+     * 删除一段连续的数据
+     *
+     * @param from  起始位置
+     * @param count 删除的个数，超出范围的部分忽略
+     */
+    public void removeRange(int from, int count) {
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(tx -> tx.removeRange(from, count));
+            return;
+        }
+        mPendingOps.flush();
+        if (from < 0 || from >= data.size() || count <= 0) {
+            return;
+        }
+        int to = Math.min(data.size(), from + count);
+        data.subList(from, to).clear();
+        notifyItemRangeRemoved(from, to - from);
+    }
+
+    /**
+     * 删除满足条件的数据，相邻的被删除项合并成一次范围通知
+     *
+     * @return 删除的个数
+     */
+    public int removeIf(IFPredicate<T> filter) {
+        mPendingOps.flush();
+        if (filter == null || data.isEmpty()) {
+            return 0;
+        }
+        int size = data.size();
+        /*先全部判断完再修改数据，filter抛异常时数据保持不变*/
+        BitSet removeSet = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test(data.get(i))) {
+                removeSet.set(i);
+            }
+        }
+        if (removeSet.isEmpty()) {
+            return 0;
+        }
+        int removed = removeSet.cardinality();
+        if (data instanceof MappedItemStore) {
+            /*压缩会重写每一条保留的数据，映射文件按连续的段删除，只移动索引*/
+            int end = size;
+            while ((end = removeSet.previousSetBit(end - 1)) >= 0) {
+                int start = removeSet.previousClearBit(end) + 1;
+                data.subList(start, end + 1).clear();
+                end = start;
+            }
+        } else {
+            int write = removeSet.nextSetBit(0);
+            for (int read = write; read < size; read++) {
+                if (!removeSet.get(read)) {
+                    data.set(write++, data.get(read));
+                }
+            }
+            data.subList(write, size).clear();
+        }
+        /*数据整理完成后再通知，从后往前通知时每一段的位置不受前面几段的影响*/
+        int end = size;
+        while ((end = removeSet.previousSetBit(end - 1)) >= 0) {
+            int start = removeSet.previousClearBit(end) + 1;
+            notifyItemRangeRemoved(start, end - start + 1);
+            end = start;
+        }
+        return removed;
+    }
+
     /**
      * 把fromPosition位置的item移到toPosition位置
      *
@@ -104,6 +657,11 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
      * @param toPosition   移到的位置
      */
     public void move(int fromPosition, int toPosition) {
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(tx -> tx.move(fromPosition, toPosition));
+            return;
+        }
+        mPendingOps.flush();
         if (fromPosition < 0) {
             throw new RuntimeException("fromPosition can't be" + fromPosition);
         } else if (toPosition < 0) {
@@ -111,10 +669,8 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
         } else if (fromPosition < data.size() && toPosition < data.size()) {
             /*数据更换*/
             data.add(toPosition, data.remove(fromPosition));
-            /*移动item*/
+            /*移动item（点击时才获取位置，不需要再刷新受影响的item）*/
             notifyItemMoved(fromPosition, toPosition);
-            /*受影响的item都刷新下*/
-            notifyItemRangeChanged(Math.min(fromPosition, toPosition), Math.abs(fromPosition - toPosition) + 1);
         }
 
     }
@@ -123,46 +679,99 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
      * 清除数据
      */
     public void clear() {
+        if (!PendingOpQueue.isMainThread()) {
+            mPendingOps.enqueue(tx -> tx.removeRange(0, tx.size()));
+            return;
+        }
+        mPendingOps.flush();
         if (data != null && data.size() > 0) {
             data.clear();
             notifyDataSetChanged();
         }
     }
 
+    /**
+     * 设置ViewDataBinding预加载缓存，onCreateViewHolder优先从缓存中取
+     */
+    public void setPreInflateCache(PreInflateCache cache) {
+        this.mPreInflateCache = cache;
+    }
+
+    /**
+     * 设置创建/绑定耗时统计，传null关闭
+     */
+    public void setMetrics(AdapterMetrics metrics) {
+        this.mMetrics = metrics;
+    }
+
     @NonNull
     @Override
     public BaseViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        ViewDataBinding binding = mIFAdapter.createView(parent, viewType);
-        RecyclerViewHolder viewHolder = new RecyclerViewHolder(binding.getRoot());
+        final AdapterMetrics metrics = mMetrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        ViewDataBinding binding = mPreInflateCache != null ? mPreInflateCache.obtain(viewType) : null;
+        if (binding == null) {
+            binding = mIFAdapter.createView(parent, viewType);
+        }
+        RecyclerViewHolder<T> viewHolder = new RecyclerViewHolder<>(binding.getRoot());
         viewHolder.mBinding = binding;
+        viewHolder.mOwner = this;
+        /*点击监听在创建时设置一次，由ViewHolder自己实现，绑定时不再创建新的监听对象*/
+        attachListeners(viewHolder);
+        if (metrics != null) {
+            metrics.recordCreate(viewType, System.nanoTime() - start);
+        }
         return viewHolder;
     }
 
     @Override
-    public void onBindViewHolder(@NonNull BaseViewHolder<T> holder, final int position) {
-        holder.setData(getItem(position), position, getItemViewType(position));
-        if (mOnItemClickListener != null) {
-            holder.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    if (position < getItemCount()) {
-                        mOnItemClickListener.onItemClick(getItem(position), position);
-                    }
-                }
-            });
-        }
-        if (mOnItemLongClickListener != null) {
-            holder.itemView.setOnLongClickListener(new View.OnLongClickListener() {
-                @Override
-                public boolean onLongClick(View v) {
-                    if (position < getItemCount()) {
-                        return mOnItemLongClickListener.onItemLongClick(getItem(position), position);
-                    }
-                    return false;
-                }
-            });
+    public void onBindViewHolder(@NonNull BaseViewHolder<T> holder, int position) {
+        final AdapterMetrics metrics = mMetrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        prepareHolder(holder);
+        int viewType = getItemViewType(position);
+        holder.setData(getItem(position), position, viewType);
+        if (metrics != null) {
+            metrics.recordBind(viewType, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull BaseViewHolder<T> holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        /*有payload时只做局部刷新*/
+        final AdapterMetrics metrics = mMetrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        prepareHolder(holder);
+        int viewType = getItemViewType(position);
+        holder.setData(getItem(position), position, viewType, payloads);
+        if (metrics != null) {
+            metrics.recordBind(viewType, System.nanoTime() - start);
+        }
+    }
+
+    private void prepareHolder(BaseViewHolder<T> holder) {
+        if (holder instanceof RecyclerViewHolder) {
+            RecyclerViewHolder<T> viewHolder = (RecyclerViewHolder<T>) holder;
+            /*可能是共享RecycledViewPool中其他适配器创建的*/
+            viewHolder.mOwner = this;
+            /*创建之后才设置的监听在这里补上*/
+            attachListeners(viewHolder);
         }
+    }
 
+    private void attachListeners(RecyclerViewHolder<T> holder) {
+        if (mOnItemClickListener != null && !holder.mClickAttached) {
+            holder.itemView.setOnClickListener(holder);
+            holder.mClickAttached = true;
+        }
+        if (mOnItemLongClickListener != null && !holder.mLongClickAttached) {
+            holder.itemView.setOnLongClickListener(holder);
+            holder.mLongClickAttached = true;
+        }
     }
 
     @Override
@@ -178,6 +787,16 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
         return super.getItemViewType(position);
     }
 
+    @Override
+    public long getItemId(int position) {
+        if (mIFAdapter instanceof IFKeyAdapter) {
+            T item = data.get(position);
+            /*分页加载的占位项还没有数据，没有id*/
+            return item == null ? RecyclerView.NO_ID : ((IFKeyAdapter<T>) mIFAdapter).getItemKey(item);
+        }
+        return RecyclerView.NO_ID;
+    }
+
     public T getItem(int position) {
         return position < data.size() ? data.get(position) : null;
     }
@@ -185,10 +804,21 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
     private OnItemClickListener<T> mOnItemClickListener;
     private OnItemLongClickListener<T> mOnItemLongClickListener;
 
-    private class RecyclerViewHolder extends BaseViewHolder<T> {
+    /**
+     * 静态内部类，不持有创建它的适配器，共享RecycledViewPool时可以被其他适配器复用（绑定时更新mOwner）
+     */
+    private static class RecyclerViewHolder<T> extends BaseViewHolder<T> implements View.OnClickListener, View.OnLongClickListener {
 
         private ViewDataBinding mBinding;
-
+        /**
+         * 当前绑定它的适配器
+         */
+        private RecyclerViewAdapter<T> mOwner;
+        /**
+         * 是否已设置点击/长按监听
+         */
+        private boolean mClickAttached;
+        private boolean mLongClickAttached;
 
         private RecyclerViewHolder(View view) {
             super(view);
@@ -196,7 +826,36 @@ public class RecyclerViewAdapter<T> extends RecyclerView.Adapter<BaseViewHolder<
 
         public void setData(T data, int position, int type) {
             /*交回到IFAdapter使用*/
-            mIFAdapter.updateView(data, mBinding, position, type);
+            mOwner.mIFAdapter.updateView(data, mBinding, position, type);
+        }
+
+        @Override
+        public void setData(T data, int position, int type, List<Object> payloads) {
+            if (mOwner.mIFAdapter instanceof IFPayloadAdapter) {
+                ((IFPayloadAdapter<T>) mOwner.mIFAdapter).updateView(data, mBinding, position, type, payloads);
+            } else {
+                setData(data, position, type);
+            }
+        }
+
+        @Override
+        public void onClick(View v) {
+            /*点击时才获取当前的位置，避免增删item后拿到绑定时的旧位置*/
+            int position = getBindingAdapterPosition();
+            RecyclerViewAdapter<T> owner = mOwner;
+            if (owner != null && owner.mOnItemClickListener != null && position != RecyclerView.NO_POSITION && position < owner.getItemCount()) {
+                owner.mOnItemClickListener.onItemClick(owner.getItem(position), position);
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View v) {
+            int position = getBindingAdapterPosition();
+            RecyclerViewAdapter<T> owner = mOwner;
+            if (owner != null && owner.mOnItemLongClickListener != null && position != RecyclerView.NO_POSITION && position < owner.getItemCount()) {
+                return owner.mOnItemLongClickListener.onItemLongClick(owner.getItem(position), position);
+            }
+            return false;
         }
     }
 
@@ -1,5 +1,6 @@
 package com.cloudling.recyclerview;
 
+import android.util.SparseIntArray;
 import android.view.View;
 
 import androidx.annotation.NonNull;
@@ -10,6 +11,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * 描述：RecyclerView委托者（不支持下拉刷新和上拉加载回调）
@@ -28,6 +32,47 @@ public class RecyclerViewDelegate<T> {
     private IFAdapter<T> mIFAdapter;
     private HeadRecyclerAdapter mHeadAdapter;
     private RecyclerViewAdapter<T> mAdapter;
+    /**
+     * 数据比对接口（用于submitList）
+     */
+    private IFDiffCallback<T> mDiffCallback;
+    /**
+     * 共享RecycledViewPool的key，为null时不共享
+     */
+    private Object mPoolKey;
+    /**
+     * viewType -> 最大缓存数
+     */
+    private final SparseIntArray mMaxRecycledViews = new SparseIntArray();
+    /**
+     * viewType -> 预加载的ViewDataBinding个数
+     */
+    private final SparseIntArray mPreInflateCounts = new SparseIntArray();
+    private PreInflateCache mPreInflateCache;
+    private AdapterMetrics mMetrics;
+    /**
+     * 存放数据的容器，为null时使用默认的ArrayList
+     */
+    private List<T> mBackingList;
+    /**
+     * 吸顶分组头，为null时不显示
+     */
+    private IFStickyHeader<T> mStickyHeader;
+    /**
+     * 排序模式的比较器，为null时不排序
+     */
+    private Comparator<T> mComparator;
+    /**
+     * 合帧刷新时每个item每秒最多刷新的次数，小于0为不开启
+     */
+    private int mFrameUpdateRate = -1;
+    private FrameUpdateScheduler<T> mUpdateScheduler;
+    /**
+     * 预加载即将显示的item的资源，为null时不预加载
+     */
+    private IFPrefetch<T> mPrefetch;
+    private int mPrefetchMinItems;
+    private int mPrefetchMaxItems;
 
 
     public RecyclerViewDelegate(IFAdapter<T> Adapter, RecyclerView mRecyclerView) {
@@ -70,9 +115,124 @@ public class RecyclerViewDelegate<T> {
         return this;
     }
 
+    /**
+     * 与同一Activity中使用相同key的列表共享RecycledViewPool，新列表可以直接复用已回收的ViewHolder（Activity销毁时释放）
+     *
+     * @param key 共享的标识（一般用IFAdapter的类型），使用相同key的列表其viewType对应的布局必须相同
+     */
+    public RecyclerViewDelegate<T> sharedPool(Object key) {
+        this.mPoolKey = key;
+        return this;
+    }
+
+    /**
+     * 设置某个viewType的最大缓存数（默认为5），一屏显示较多的viewType可以调大
+     */
+    public RecyclerViewDelegate<T> maxRecycledViews(int viewType, int max) {
+        mMaxRecycledViews.put(viewType, max);
+        return this;
+    }
+
+    /**
+     * 排序模式：配合addSorted、updateSorted使用，数据按二分查找放到排序对应的位置
+     */
+    public RecyclerViewDelegate<T> comparator(Comparator<T> comparator) {
+        this.mComparator = comparator;
+        if (mAdapter != null) {
+            mAdapter.setComparator(comparator);
+        }
+        return this;
+    }
+
+    /**
+     * 按分组显示吸顶的分组头（只支持竖直方向的列表），分组头创建后会被缓存
+     */
+    public RecyclerViewDelegate<T> stickyHeader(IFStickyHeader<T> stickyHeader) {
+        this.mStickyHeader = stickyHeader;
+        return this;
+    }
+
+    /**
+     * 更换存放数据的容器（如GapBufferList，适合在头部或中间频繁插入、拖拽排序的大列表）
+     */
+    public RecyclerViewDelegate<T> backingList(List<T> list) {
+        this.mBackingList = list;
+        return this;
+    }
+
+    /**
+     * 合帧刷新模式：scheduleUpdate的更新按位置合并（后一次覆盖前一次），每帧刷新一次，适合高频更新的列表
+     *
+     * @param maxUpdatesPerSecond 每个item每秒最多刷新的次数，0为不限制（每帧最多一次）
+     */
+    public RecyclerViewDelegate<T> frameUpdates(int maxUpdatesPerSecond) {
+        this.mFrameUpdateRate = Math.max(0, maxUpdatesPerSecond);
+        if (mUpdateScheduler != null) {
+            mUpdateScheduler.setMaxUpdateRate(mFrameUpdateRate);
+        }
+        return this;
+    }
+
+    /**
+     * 滚动时回调滚动方向上可见范围外即将显示的item，用于提前解码图片、排版文本等，离开可见范围附近时回调取消
+     *
+     * @param minItems 静止或慢速滚动时预加载的item数，滑得越快范围越大（按列数取整）
+     * @param maxItems 预加载的item数上限
+     */
+    public RecyclerViewDelegate<T> prefetch(IFPrefetch<T> prefetch, int minItems, int maxItems) {
+        this.mPrefetch = prefetch;
+        this.mPrefetchMinItems = minItems;
+        this.mPrefetchMaxItems = maxItems;
+        return this;
+    }
+
+    /**
+     * 按viewType统计创建和绑定耗时，可随时通过metrics.snapshot()导出、reset()清空；传null关闭
+     */
+    public RecyclerViewDelegate<T> metrics(AdapterMetrics metrics) {
+        this.mMetrics = metrics;
+        if (mAdapter != null) {
+            mAdapter.setMetrics(metrics);
+        }
+        return this;
+    }
+
+    /**
+     * build后在主线程空闲时预先创建count个该viewType的ViewDataBinding，首次滑动时直接使用，减少掉帧
+     */
+    public RecyclerViewDelegate<T> preInflate(int viewType, int count) {
+        mPreInflateCounts.put(viewType, mPreInflateCounts.get(viewType) + count);
+        return this;
+    }
+
+    /**
+     * 设置数据比对接口，设置后可使用submitList只刷新有变化的item
+     */
+    public RecyclerViewDelegate<T> diffCallback(IFDiffCallback<T> callback) {
+        this.mDiffCallback = callback;
+        return this;
+    }
+
     public RecyclerViewDelegate<T> build() {
         mAdapter = new RecyclerViewAdapter<>(mIFAdapter);
+        mAdapter.setBackingList(mBackingList);
+        mAdapter.setMetrics(mMetrics);
+        mAdapter.setComparator(mComparator);
+        mAdapter.setDiffCallback(mDiffCallback);
+        if (mFrameUpdateRate >= 0) {
+            mUpdateScheduler = new FrameUpdateScheduler<>(mAdapter);
+            mUpdateScheduler.setMaxUpdateRate(mFrameUpdateRate);
+        }
         mHeadAdapter = new HeadRecyclerAdapter(mAdapter);
+        if (mStickyHeader != null) {
+            mRecyclerView.addItemDecoration(new StickyHeaderDecoration<>(mAdapter, mStickyHeader));
+        }
+        if (mPrefetch != null) {
+            mRecyclerView.addOnScrollListener(new ListPrefetcher<>(mAdapter, mHeadAdapter, mPrefetch,
+                    mPrefetchMinItems, mPrefetchMaxItems));
+        }
+        applyRecycledViewPool();
+        applyPreInflate();
         mRecyclerView.setAdapter(mHeadAdapter);
         return this;
     }
@@ -106,6 +266,79 @@ public class RecyclerViewDelegate<T> {
         mAdapter.addAll(list);
     }
 
+    /**
+     * 添加数据，会覆盖原有的数据（在后台比对新旧数据，只刷新有变化的item，需先设置diffCallback）
+     */
+    public void submitList(List<T> list) {
+        mAdapter.submitList(list);
+    }
+
+    /**
+     * 更新数据（任意线程），开启frameUpdates时合并到下一帧刷新，否则直接更新
+     *
+     * @param payload 局部刷新的payload，为null时整项刷新
+     */
+    public void scheduleUpdate(int index, T single, Object payload) {
+        if (mUpdateScheduler != null) {
+            mUpdateScheduler.update(index, single, payload);
+        } else {
+            mAdapter.update(index, single, payload);
+        }
+    }
+
+    /**
+     * 合帧刷新的调度器（可查看合并、丢弃的次数），未开启frameUpdates时为null
+     */
+    public FrameUpdateScheduler<T> getUpdateScheduler() {
+        return mUpdateScheduler;
+    }
+
+    /**
+     * 按排序插入数据（需设置comparator）
+     *
+     * @return 插入的位置（不包含HeaderView）
+     */
+    public int addSorted(T single) {
+        return mAdapter.addSorted(single);
+    }
+
+    /**
+     * 按排序批量插入数据（需设置comparator），连续插入的位置合并成一次范围通知
+     */
+    public void addSorted(Collection<T> list) {
+        mAdapter.addSorted(list);
+    }
+
+    /**
+     * 更新数据并按新的排序移动到对应的位置（需设置comparator）
+     *
+     * @return 更新后的位置（不包含HeaderView）
+     */
+    public int updateSorted(int index, T single) {
+        return mAdapter.updateSorted(index, single);
+    }
+
+    /**
+     * 在后台线程按条件过滤，只刷新增删的item，完整数据保留（clearFilter恢复）
+     */
+    public void setFilter(IFPredicate<T> filter) {
+        mAdapter.setFilter(filter);
+    }
+
+    /**
+     * 在后台线程按关键字过滤，继续输入时只在上一次的结果中过滤
+     */
+    public void setQuery(String query, IFQueryMatcher<T> matcher) {
+        mAdapter.setQuery(query, matcher);
+    }
+
+    /**
+     * 取消过滤，恢复完整的数据
+     */
+    public void clearFilter() {
+        mAdapter.clearFilter();
+    }
+
     /**
      * 添加HeaderView
      *
@@ -160,6 +393,13 @@ public class RecyclerViewDelegate<T> {
         return mHeadAdapter.getFootersCount();
     }
 
+    /**
+     * 批量修改数据（位置都不算headerView或footerView），结束时合并成最少的范围通知一次性分发
+     */
+    public void batch(IFBatch<T> batch) {
+        mAdapter.batch(batch);
+    }
+
     /**
      * 移除Item（非headerView或footerView）
      *
@@ -169,6 +409,45 @@ public class RecyclerViewDelegate<T> {
         mAdapter.remove(index);
     }
 
+    /**
+     * 移除一段连续的Item（非headerView或footerView）
+     *
+     * @param from  起始位置（不算headerView或footerView的位置）
+     * @param count 移除的个数
+     */
+    public void removeRange(int from, int count) {
+        mAdapter.removeRange(from, count);
+    }
+
+    /**
+     * 移除满足条件的Item（非headerView或footerView）
+     *
+     * @return 移除的个数
+     */
+    public int removeIf(IFPredicate<T> filter) {
+        return mAdapter.removeIf(filter);
+    }
+
+    /**
+     * 更新Item（非headerView或footerView）
+     *
+     * @param index   待更新的item的位置（不算headerView或footerView的位置）
+     * @param payload 局部刷新的payload（IFAdapter需实现IFPayloadAdapter），为null时整项刷新
+     */
+    public void updateItem(int index, T single, Object payload) {
+        mAdapter.update(index, single, payload);
+    }
+
+    /**
+     * 刷新Item（非headerView或footerView）
+     *
+     * @param index   待刷新的item的位置（不算headerView或footerView的位置）
+     * @param payload 局部刷新的payload（IFAdapter需实现IFPayloadAdapter），为null时整项刷新
+     */
+    public void notifyItemChanged(int index, Object payload) {
+        mAdapter.notifyItemChanged(index, payload);
+    }
+
     /**
      * 把fromPosition位置的item移到toPosition位置
      *
@@ -216,6 +495,42 @@ public class RecyclerViewDelegate<T> {
         }
     }
 
+    private void applyPreInflate() {
+        if (mPreInflateCounts.size() == 0) {
+            return;
+        }
+        mPreInflateCache = new PreInflateCache(mIFAdapter, mRecyclerView);
+        for (int i = 0; i < mPreInflateCounts.size(); i++) {
+            mPreInflateCache.preInflate(mPreInflateCounts.keyAt(i), mPreInflateCounts.valueAt(i));
+        }
+        mAdapter.setPreInflateCache(mPreInflateCache);
+    }
+
+    /**
+     * 预加载缓存（可获取命中/未命中次数），没有设置preInflate时为null
+     */
+    public PreInflateCache getPreInflateCache() {
+        return mPreInflateCache;
+    }
+
+    private void applyRecycledViewPool() {
+        if (mPoolKey != null) {
+            RecycledViewPoolManager manager = RecycledViewPoolManager.getInstance();
+            for (int i = 0; i < mMaxRecycledViews.size(); i++) {
+                manager.setMaxRecycledViews(mPoolKey, mMaxRecycledViews.keyAt(i), mMaxRecycledViews.valueAt(i));
+            }
+            mRecyclerView.setRecycledViewPool(manager.obtain(mRecyclerView.getContext(), mPoolKey));
+            if (mRecyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+                /*列表从窗口移除时（如切换Fragment）把item回收到共享的缓存池中，给同一Activity中的其他列表使用；Activity销毁时缓存池已被释放，不会持有已销毁的Activity*/
+                ((LinearLayoutManager) mRecyclerView.getLayoutManager()).setRecycleChildrenOnDetach(true);
+            }
+        } else {
+            for (int i = 0; i < mMaxRecycledViews.size(); i++) {
+                mRecyclerView.getRecycledViewPool().setMaxRecycledViews(mMaxRecycledViews.keyAt(i), mMaxRecycledViews.valueAt(i));
+            }
+        }
+    }
+
     private void initLinearLayoutManager(int orientation) {
         //默认的layoutManager
         LinearLayoutManager mManager = new LinearLayoutManager(mRecyclerView.getContext());
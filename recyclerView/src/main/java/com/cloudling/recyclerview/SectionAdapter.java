@@ -0,0 +1,412 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.collection.SparseArrayCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述：把多个适配器（一般是各自的RecyclerViewAdapter）按顺序组合成一个列表，每段（section）独立更新。
+ * 每段的viewType互相隔离（映射成全局唯一的viewType），每段的数据变化加上该段的起始位置后通知出去；
+ * 全局位置到段内位置通过前缀和 + 二分查找，耗时O(log 段数)；
+ * 所有段都使用稳定id时跟随使用稳定id，每段的id加上该段的id基数（高位）区分，不同段的id不会冲突
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SectionAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+    /**
+     * 开启稳定id时段内的id需在[0, 1 << SECTION_ID_SHIFT)内，更高的位用来区分是哪一段
+     */
+    public static final int SECTION_ID_SHIFT = 48;
+    private final List<Section> mSections = new ArrayList<>();
+    /**
+     * 全局viewType -> 所属的段和段内viewType
+     */
+    private final SparseArrayCompat<TypeMapping> mTypeMappings = new SparseArrayCompat<>();
+    /**
+     * 下一个分配的全局viewType，只增不减，移除的段的viewType不会再被其他段使用
+     */
+    private int mNextViewType;
+    /**
+     * 下一个添加的段的id基数序号，只增不减，和viewType一样不会给其他段重复使用
+     */
+    private int mNextIdTag;
+    /**
+     * mOffsets[i]为第i段的起始位置，mOffsets[段数]为总数
+     */
+    private int[] mOffsets = new int[1];
+    private boolean mOffsetsDirty;
+
+    /**
+     * 在末尾添加一段
+     *
+     * @return 该段的下标
+     */
+    public int addSection(@NonNull RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter) {
+        addSection(mSections.size(), adapter);
+        return mSections.size() - 1;
+    }
+
+    /**
+     * 在index处插入一段（已经设置给RecyclerView并使用稳定id时，插入的段也需要使用稳定id）
+     */
+    public void addSection(int index, @NonNull RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter) {
+        if (adapter instanceof HeadRecyclerAdapter || adapter instanceof SectionAdapter) {
+            throw new IllegalArgumentException("Cannot add a HeadRecyclerAdapter or SectionAdapter as a section");
+        }
+        if (indexOfSection(adapter) >= 0) {
+            throw new IllegalArgumentException("Adapter is already a section");
+        }
+        if (hasObservers() && hasStableIds() && !adapter.hasStableIds()) {
+            throw new IllegalArgumentException("Section must have stable ids once the SectionAdapter is in use with stable ids");
+        }
+        Section section = new Section(adapter, (long) mNextIdTag++ << SECTION_ID_SHIFT);
+        mSections.add(index, section);
+        updateIndexes(index);
+        mOffsetsDirty = true;
+        updateStableIds();
+        adapter.registerAdapterDataObserver(section);
+        if (section.mCount > 0) {
+            notifyItemRangeInserted(offsetOf(section), section.mCount);
+        }
+    }
+
+    /**
+     * 移除一段
+     *
+     * @return 是否移除
+     */
+    public boolean removeSection(@NonNull RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter) {
+        int index = indexOfSection(adapter);
+        if (index < 0) {
+            return false;
+        }
+        Section section = mSections.get(index);
+        int offset = offsetOf(section);
+        adapter.unregisterAdapterDataObserver(section);
+        mSections.remove(index);
+        updateIndexes(index);
+        mOffsetsDirty = true;
+        updateStableIds();
+        for (int i = mTypeMappings.size() - 1; i >= 0; i--) {
+            if (mTypeMappings.valueAt(i).section == section) {
+                mTypeMappings.removeAt(i);
+            }
+        }
+        if (section.mCount > 0) {
+            notifyItemRangeRemoved(offset, section.mCount);
+        }
+        return true;
+    }
+
+    public int getSectionCount() {
+        return mSections.size();
+    }
+
+    public RecyclerView.Adapter<? extends RecyclerView.ViewHolder> getSection(int index) {
+        return mSections.get(index).adapter;
+    }
+
+    public int indexOfSection(RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter) {
+        for (int i = 0; i < mSections.size(); i++) {
+            if (mSections.get(i).adapter == adapter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 第index段在整个列表中的起始位置
+     */
+    public int getSectionOffset(int index) {
+        return offsets()[index];
+    }
+
+    /**
+     * position所在段的下标
+     *
+     * @param position 整个列表的position
+     */
+    public int findSectionIndex(int position) {
+        int[] offsets = offsets();
+        if (position < 0 || position >= offsets[mSections.size()]) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Count: " + offsets[mSections.size()]);
+        }
+        /*找到第一个结束位置大于position的段（空段的起始和结束相同，会被跳过）*/
+        int low = 0;
+        int high = mSections.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (offsets[mid + 1] > position) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * position在所在段中的位置
+     */
+    public int getLocalPosition(int position) {
+        return position - offsets()[findSectionIndex(position)];
+    }
+
+    @Override
+    public int getItemCount() {
+        return offsets()[mSections.size()];
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (!hasStableIds()) {
+            return RecyclerView.NO_ID;
+        }
+        int index = findSectionIndex(position);
+        Section section = mSections.get(index);
+        long id = section.adapter.getItemId(position - offsets()[index]);
+        return id == RecyclerView.NO_ID ? RecyclerView.NO_ID : section.mIdBase + id;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        int index = findSectionIndex(position);
+        Section section = mSections.get(index);
+        int localType = section.adapter.getItemViewType(position - offsets()[index]);
+        TypeMapping mapping = section.mTypes.get(localType);
+        if (mapping == null) {
+            /*每段的每种viewType只在第一次出现时分配*/
+            mapping = new TypeMapping(section, localType, mNextViewType++);
+            section.mTypes.put(localType, mapping);
+            mTypeMappings.put(mapping.globalType, mapping);
+        }
+        return mapping.globalType;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        TypeMapping mapping = mTypeMappings.get(viewType);
+        if (mapping == null) {
+            throw new IllegalStateException("Unknown viewType " + viewType);
+        }
+        return mapping.section.adapter.onCreateViewHolder(parent, mapping.localType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        int index = findSectionIndex(position);
+        /*通过bindViewHolder绑定，getBindingAdapterPosition拿到的是段内的位置，payload也会一并传过去*/
+        mSections.get(index).adapter.bindViewHolder(holder, position - offsets()[index]);
+    }
+
+    @Override
+    public int findRelativeAdapterPositionIn(@NonNull RecyclerView.Adapter<? extends RecyclerView.ViewHolder> adapter,
+                                             @NonNull RecyclerView.ViewHolder viewHolder, int localPosition) {
+        if (adapter == this) {
+            return localPosition;
+        }
+        if (localPosition < 0 || localPosition >= getItemCount()) {
+            return RecyclerView.NO_POSITION;
+        }
+        int index = findSectionIndex(localPosition);
+        Section section = mSections.get(index);
+        if (section.adapter != adapter) {
+            return RecyclerView.NO_POSITION;
+        }
+        return section.adapter.findRelativeAdapterPositionIn(adapter, viewHolder, localPosition - offsets()[index]);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        Section section = sectionOf(holder);
+        if (section != null) {
+            section.adapter.onViewRecycled(holder);
+        }
+    }
+
+    @Override
+    public boolean onFailedToRecycleView(@NonNull RecyclerView.ViewHolder holder) {
+        Section section = sectionOf(holder);
+        return section != null ? section.adapter.onFailedToRecycleView(holder) : super.onFailedToRecycleView(holder);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull RecyclerView.ViewHolder holder) {
+        Section section = sectionOf(holder);
+        if (section != null) {
+            section.adapter.onViewAttachedToWindow(holder);
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull RecyclerView.ViewHolder holder) {
+        Section section = sectionOf(holder);
+        if (section != null) {
+            section.adapter.onViewDetachedFromWindow(holder);
+        }
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        for (Section section : mSections) {
+            section.adapter.onAttachedToRecyclerView(recyclerView);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        for (Section section : mSections) {
+            section.adapter.onDetachedFromRecyclerView(recyclerView);
+        }
+    }
+
+    /**
+     * 根据ViewHolder的（全局）viewType找到所属的段
+     */
+    private Section sectionOf(RecyclerView.ViewHolder holder) {
+        TypeMapping mapping = mTypeMappings.get(holder.getItemViewType());
+        return mapping != null ? mapping.section : null;
+    }
+
+    private int offsetOf(Section section) {
+        return offsets()[section.mIndex];
+    }
+
+    /**
+     * 插入、移除段后更新from及之后各段记录的下标
+     */
+    private void updateIndexes(int from) {
+        for (int i = from; i < mSections.size(); i++) {
+            mSections.get(i).mIndex = i;
+        }
+    }
+
+    /**
+     * 还没设置给RecyclerView时跟随各段是否都使用稳定id，之后不能再修改
+     */
+    private void updateStableIds() {
+        if (hasObservers()) {
+            return;
+        }
+        boolean stableIds = !mSections.isEmpty();
+        for (Section section : mSections) {
+            stableIds &= section.adapter.hasStableIds();
+        }
+        setHasStableIds(stableIds);
+    }
+
+    /**
+     * 各段的数量变化后重新计算前缀和
+     */
+    private int[] offsets() {
+        if (mOffsetsDirty) {
+            int size = mSections.size();
+            if (mOffsets.length != size + 1) {
+                mOffsets = new int[size + 1];
+            }
+            for (int i = 0; i < size; i++) {
+                mOffsets[i + 1] = mOffsets[i] + mSections.get(i).mCount;
+            }
+            mOffsetsDirty = false;
+        }
+        return mOffsets;
+    }
+
+    /**
+     * 一段：被包装的适配器，同时监听它的数据变化并加上该段的起始位置转发出去
+     */
+    private class Section extends RecyclerView.AdapterDataObserver {
+        final RecyclerView.Adapter adapter;
+        /**
+         * 段内viewType -> 映射
+         */
+        final SparseArrayCompat<TypeMapping> mTypes = new SparseArrayCompat<>();
+        /**
+         * 段内id加上这个基数作为整个列表中的id
+         */
+        final long mIdBase;
+        /**
+         * 在mSections中的下标，插入、移除段时更新
+         */
+        int mIndex;
+        /**
+         * 最近一次通知后的数量，保证总数和已发出的通知一致
+         */
+        int mCount;
+
+        Section(RecyclerView.Adapter adapter, long idBase) {
+            this.adapter = adapter;
+            this.mIdBase = idBase;
+            this.mCount = adapter.getItemCount();
+        }
+
+        @Override
+        public void onChanged() {
+            /*只影响这一段，不让整个列表失效*/
+            int offset = offsetOf(this);
+            int oldCount = mCount;
+            int newCount = adapter.getItemCount();
+            mCount = newCount;
+            mOffsetsDirty = true;
+            int common = Math.min(oldCount, newCount);
+            if (common > 0) {
+                notifyItemRangeChanged(offset, common);
+            }
+            if (newCount > oldCount) {
+                notifyItemRangeInserted(offset + common, newCount - oldCount);
+            } else if (oldCount > newCount) {
+                notifyItemRangeRemoved(offset + common, oldCount - newCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            notifyItemRangeChanged(offsetOf(this) + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            notifyItemRangeChanged(offsetOf(this) + positionStart, itemCount, payload);
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mCount += itemCount;
+            mOffsetsDirty = true;
+            notifyItemRangeInserted(offsetOf(this) + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mCount -= itemCount;
+            mOffsetsDirty = true;
+            notifyItemRangeRemoved(offsetOf(this) + positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            int offset = offsetOf(this);
+            notifyItemMoved(offset + fromPosition, offset + toPosition);
+        }
+    }
+
+    private static class TypeMapping {
+        final Section section;
+        final int localType;
+        final int globalType;
+
+        TypeMapping(Section section, int localType, int globalType) {
+            this.section = section;
+            this.localType = localType;
+            this.globalType = globalType;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.cloudling.recyclerview;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * 描述：只存放非null数据的List，null（分页加载的占位）只计入数量，不占用数组的位置。
+ * 非null数据按位置升序存放，get为二分查找O(log 非null个数)；增删时只平移后面数据的位置，
+ * 占用的内存只和在内存中的页数有关，与总数无关。分页加载（pageSource）默认使用
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class SparseItemList<T> extends AbstractList<T> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * 非null数据的位置（升序）和数据，个数为mEntryCount
+     */
+    private int[] mPositions = new int[DEFAULT_CAPACITY];
+    private Object[] mValues = new Object[DEFAULT_CAPACITY];
+    private int mEntryCount;
+    /**
+     * 包括null在内的数量
+     */
+    private int mSize;
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) {
+        checkIndex(index, mSize);
+        int entry = Arrays.binarySearch(mPositions, 0, mEntryCount, index);
+        return entry >= 0 ? (T) mValues[entry] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index, mSize);
+        int entry = Arrays.binarySearch(mPositions, 0, mEntryCount, index);
+        if (entry >= 0) {
+            T old = (T) mValues[entry];
+            if (element != null) {
+                mValues[entry] = element;
+            } else {
+                removeEntries(entry, entry + 1);
+            }
+            return old;
+        }
+        if (element != null) {
+            insertEntry(-entry - 1, index, element);
+        }
+        return null;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkPositionIndex(index, mSize);
+        int entry = lowerBound(index);
+        shiftPositions(entry, 1);
+        mSize++;
+        if (element != null) {
+            insertEntry(entry, index, element);
+        }
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        checkPositionIndex(index, mSize);
+        int count = c.size();
+        if (count == 0) {
+            return false;
+        }
+        int entry = lowerBound(index);
+        shiftPositions(entry, count);
+        mSize += count;
+        int nonNull = 0;
+        for (T item : c) {
+            if (item != null) {
+                nonNull++;
+            }
+        }
+        if (nonNull > 0) {
+            /*一次腾出位置，再按顺序写入*/
+            ensureCapacity(mEntryCount + nonNull);
+            System.arraycopy(mPositions, entry, mPositions, entry + nonNull, mEntryCount - entry);
+            System.arraycopy(mValues, entry, mValues, entry + nonNull, mEntryCount - entry);
+            mEntryCount += nonNull;
+            int position = index;
+            for (T item : c) {
+                if (item != null) {
+                    mPositions[entry] = position;
+                    mValues[entry] = item;
+                    entry++;
+                }
+                position++;
+            }
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        return addAll(mSize, c);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int index) {
+        checkIndex(index, mSize);
+        int entry = lowerBound(index);
+        T old = null;
+        if (entry < mEntryCount && mPositions[entry] == index) {
+            old = (T) mValues[entry];
+            removeEntries(entry, entry + 1);
+        }
+        shiftPositions(entry, -1);
+        mSize--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        int from = lowerBound(fromIndex);
+        removeEntries(from, lowerBound(toIndex));
+        shiftPositions(from, fromIndex - toIndex);
+        mSize -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(mValues, 0, mEntryCount, null);
+        mEntryCount = 0;
+        mSize = 0;
+        modCount++;
+    }
+
+    /**
+     * 第一个位置不小于index的数据
+     */
+    private int lowerBound(int index) {
+        int entry = Arrays.binarySearch(mPositions, 0, mEntryCount, index);
+        return entry >= 0 ? entry : -entry - 1;
+    }
+
+    /**
+     * 从fromEntry开始的数据位置都加上delta
+     */
+    private void shiftPositions(int fromEntry, int delta) {
+        for (int i = fromEntry; i < mEntryCount; i++) {
+            mPositions[i] += delta;
+        }
+    }
+
+    private void insertEntry(int entry, int position, Object value) {
+        ensureCapacity(mEntryCount + 1);
+        System.arraycopy(mPositions, entry, mPositions, entry + 1, mEntryCount - entry);
+        System.arraycopy(mValues, entry, mValues, entry + 1, mEntryCount - entry);
+        mPositions[entry] = position;
+        mValues[entry] = value;
+        mEntryCount++;
+    }
+
+    private void removeEntries(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        System.arraycopy(mPositions, to, mPositions, from, mEntryCount - to);
+        System.arraycopy(mValues, to, mValues, from, mEntryCount - to);
+        int newCount = mEntryCount - (to - from);
+        Arrays.fill(mValues, newCount, mEntryCount, null);
+        mEntryCount = newCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mPositions.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, mPositions.length * 2);
+        mPositions = Arrays.copyOf(mPositions, newLength);
+        mValues = Arrays.copyOf(mValues, newLength);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void checkPositionIndex(int index, int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.cloudling.recyclerview;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 描述：吸顶分组头（只支持竖直方向的列表）。每组第一个item上方留出分组头的位置并绘制分组头，列表顶部绘制当前分组的分组头，
+ * 下一组的分组头到达顶部时把它顶上去。
+ * 分组头创建并测量后按分组key缓存（LRU），每组的起始位置在数据增删时平移，只重新读取变化的item附近的分组key
+ * （带payload的局部刷新不读取），查找当前分组用二分查找，同一分组内滑动时不会重复创建和测量
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class StickyHeaderDecoration<T> extends RecyclerView.ItemDecoration {
+    private static final int DEFAULT_CACHE_SIZE = 8;
+    private static final int MAX_DIRTY_RANGES = 16;
+    private final RecyclerViewAdapter<T> mAdapter;
+    private final IFStickyHeader<T> mStickyHeader;
+    /**
+     * 分组key -> 已测量的分组头，按访问顺序淘汰
+     */
+    private final LinkedHashMap<Object, View> mHeaderCache;
+    /**
+     * 每组的起始位置（适配器中的位置，升序）和key，个数为mSectionCount
+     */
+    private int[] mSectionStarts = new int[16];
+    private Object[] mSectionKeys = new Object[16];
+    private int mSectionCount;
+    private boolean mSectionsDirty = true;
+    /**
+     * 分组起始位置已平移、但分组key还没重新读取的范围[from, to]，超过MAX_DIRTY_RANGES个时整体重新计算
+     */
+    private final int[] mDirtyFrom = new int[MAX_DIRTY_RANGES];
+    private final int[] mDirtyTo = new int[MAX_DIRTY_RANGES];
+    private int mDirtyCount;
+
+    public StickyHeaderDecoration(RecyclerViewAdapter<T> adapter, IFStickyHeader<T> stickyHeader) {
+        this(adapter, stickyHeader, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize 最多缓存的分组头个数
+     */
+    public StickyHeaderDecoration(RecyclerViewAdapter<T> adapter, IFStickyHeader<T> stickyHeader, final int cacheSize) {
+        this.mAdapter = adapter;
+        this.mStickyHeader = stickyHeader;
+        this.mHeaderCache = new LinkedHashMap<Object, View>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, View> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        /*数据变化时只平移分组的起始位置并记下变化的范围，绘制前再读取这些范围内的分组key*/
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                mSectionsDirty = true;
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                /*后一个item是否是新的一组取决于最后一个变化的item*/
+                markDirty(positionStart, positionStart + itemCount);
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                /*带payload的只是局部刷新，数据所在的分组不变*/
+                if (payload == null) {
+                    onItemRangeChanged(positionStart, itemCount);
+                }
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                onInserted(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                onRemoved(positionStart, itemCount);
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                onRemoved(fromPosition, 1);
+                onInserted(toPosition, 1);
+            }
+        });
+    }
+
+    /**
+     * 分组头的内容变化后调用，清空缓存重新创建
+     */
+    public void invalidateHeaders() {
+        mHeaderCache.clear();
+    }
+
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        int position = positionOf(parent, view);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int section = findSection(position);
+        if (mSectionStarts[section] == position && mSectionKeys[section] != null) {
+            outRect.top = headerOf(parent, mSectionKeys[section]).getHeight();
+        }
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        /*每组第一个item上方的分组头*/
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            int position = positionOf(parent, child);
+            if (position == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            int section = findSection(position);
+            if (mSectionStarts[section] == position && mSectionKeys[section] != null) {
+                View header = headerOf(parent, mSectionKeys[section]);
+                drawHeader(c, parent, header, child.getTop() + (int) child.getTranslationY() - header.getHeight());
+            }
+        }
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (parent.getChildCount() == 0) {
+            return;
+        }
+        int position = positionOf(parent, parent.getChildAt(0));
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int section = findSection(position);
+        Object key = mSectionKeys[section];
+        if (key == null) {
+            return;
+        }
+        View header = headerOf(parent, key);
+        int top = parent.getPaddingTop();
+        if (section + 1 < mSectionCount) {
+            /*下一组的分组头到达顶部时把当前的分组头顶上去*/
+            int nextStart = mSectionStarts[section + 1];
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                View child = parent.getChildAt(i);
+                if (positionOf(parent, child) == nextStart) {
+                    int nextHeaderTop = child.getTop() + (int) child.getTranslationY();
+                    if (mSectionKeys[section + 1] != null) {
+                        nextHeaderTop -= headerOf(parent, mSectionKeys[section + 1]).getHeight();
+                    }
+                    top = Math.min(top, nextHeaderTop - header.getHeight());
+                    break;
+                }
+            }
+        }
+        drawHeader(c, parent, header, top);
+    }
+
+    private void drawHeader(Canvas c, RecyclerView parent, View header, int top) {
+        c.save();
+        c.translate(parent.getPaddingLeft(), top);
+        header.draw(c);
+        c.restore();
+    }
+
+    /**
+     * 取出缓存的分组头，没有或列表宽度变化时创建并测量
+     */
+    private View headerOf(RecyclerView parent, Object key) {
+        int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        View header = mHeaderCache.get(key);
+        if (header == null) {
+            header = mStickyHeader.createHeaderView(parent, key);
+            mHeaderCache.put(key, header);
+        } else if (header.getWidth() == width && !header.isLayoutRequested()) {
+            return header;
+        }
+        header.measure(View.MeasureSpec.makeMeasureSpec(Math.max(width, 0), View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+        header.layout(0, 0, header.getMeasuredWidth(), header.getMeasuredHeight());
+        return header;
+    }
+
+    /**
+     * child在适配器中的位置（去掉HeaderView的偏移），不是适配器中的item时返回NO_POSITION
+     */
+    private int positionOf(RecyclerView parent, View child) {
+        int position = parent.getChildAdapterPosition(child);
+        if (position == RecyclerView.NO_POSITION) {
+            return RecyclerView.NO_POSITION;
+        }
+        if (parent.getAdapter() instanceof HeadRecyclerAdapter) {
+            position -= ((HeadRecyclerAdapter) parent.getAdapter()).getHeadersCount();
+        }
+        return position >= 0 && position < mAdapter.getItemCount() ? position : RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * position所在的分组（最后一个起始位置不大于position的分组）
+     */
+    private int findSection(int position) {
+        ensureSections();
+        int low = 0;
+        int high = mSectionCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (mSectionStarts[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void ensureSections() {
+        if (mSectionsDirty) {
+            rebuildSections();
+            return;
+        }
+        if (mDirtyCount == 0) {
+            return;
+        }
+        /*按起始位置排序，重叠或相邻的范围合并后从前往后重新读取，前一个范围的结果是后一个范围比较的依据*/
+        for (int i = 1; i < mDirtyCount; i++) {
+            int from = mDirtyFrom[i];
+            int to = mDirtyTo[i];
+            int j = i - 1;
+            while (j >= 0 && mDirtyFrom[j] > from) {
+                mDirtyFrom[j + 1] = mDirtyFrom[j];
+                mDirtyTo[j + 1] = mDirtyTo[j];
+                j--;
+            }
+            mDirtyFrom[j + 1] = from;
+            mDirtyTo[j + 1] = to;
+        }
+        int from = mDirtyFrom[0];
+        int to = mDirtyTo[0];
+        for (int i = 1; i < mDirtyCount; i++) {
+            if (mDirtyFrom[i] <= to + 1) {
+                to = Math.max(to, mDirtyTo[i]);
+            } else {
+                rescan(from, to);
+                from = mDirtyFrom[i];
+                to = mDirtyTo[i];
+            }
+        }
+        rescan(from, to);
+        mDirtyCount = 0;
+    }
+
+    private void rebuildSections() {
+        mSectionsDirty = false;
+        mDirtyCount = 0;
+        mSectionCount = 0;
+        Object lastKey = null;
+        int count = mAdapter.getItemCount();
+        for (int i = 0; i < count; i++) {
+            Object key = mStickyHeader.getSectionKey(mAdapter.getItem(i));
+            if (i == 0 || !sameKey(key, lastKey)) {
+                ensureSectionCapacity(mSectionCount + 1);
+                mSectionStarts[mSectionCount] = i;
+                mSectionKeys[mSectionCount] = key;
+                mSectionCount++;
+            }
+            lastKey = key;
+        }
+        /*多余的key不再持有*/
+        Arrays.fill(mSectionKeys, mSectionCount, mSectionKeys.length, null);
+    }
+
+    /**
+     * 重新读取[from, to]内item的分组key，替换这个范围内的分组；范围前一个item的分组key取已有的分组
+     */
+    private void rescan(int from, int to) {
+        to = Math.min(to, mAdapter.getItemCount() - 1);
+        if (from > to) {
+            return;
+        }
+        int first = lowerBound(from);
+        int end = lowerBound(to + 1);
+        int[] starts = new int[to - from + 1];
+        Object[] keys = new Object[to - from + 1];
+        int n = 0;
+        Object lastKey = first > 0 ? mSectionKeys[first - 1] : null;
+        for (int i = from; i <= to; i++) {
+            Object key = mStickyHeader.getSectionKey(mAdapter.getItem(i));
+            /*前面没有分组时这一个一定是新的一组*/
+            if ((first == 0 && n == 0) || !sameKey(key, lastKey)) {
+                starts[n] = i;
+                keys[n] = key;
+                n++;
+            }
+            lastKey = key;
+        }
+        int oldCount = mSectionCount;
+        int newCount = oldCount - (end - first) + n;
+        ensureSectionCapacity(newCount);
+        System.arraycopy(mSectionStarts, end, mSectionStarts, first + n, oldCount - end);
+        System.arraycopy(mSectionKeys, end, mSectionKeys, first + n, oldCount - end);
+        System.arraycopy(starts, 0, mSectionStarts, first, n);
+        System.arraycopy(keys, 0, mSectionKeys, first, n);
+        if (newCount < oldCount) {
+            Arrays.fill(mSectionKeys, newCount, oldCount, null);
+        }
+        mSectionCount = newCount;
+    }
+
+    private void onInserted(int positionStart, int itemCount) {
+        if (mSectionsDirty) {
+            return;
+        }
+        for (int i = lowerBound(positionStart); i < mSectionCount; i++) {
+            mSectionStarts[i] += itemCount;
+        }
+        for (int i = 0; i < mDirtyCount; i++) {
+            if (mDirtyFrom[i] >= positionStart) {
+                mDirtyFrom[i] += itemCount;
+            }
+            if (mDirtyTo[i] >= positionStart) {
+                mDirtyTo[i] += itemCount;
+            }
+        }
+        /*插入的item和原来在positionStart的item*/
+        markDirty(positionStart, positionStart + itemCount);
+    }
+
+    private void onRemoved(int positionStart, int itemCount) {
+        if (mSectionsDirty) {
+            return;
+        }
+        int first = lowerBound(positionStart);
+        int end = lowerBound(positionStart + itemCount);
+        System.arraycopy(mSectionStarts, end, mSectionStarts, first, mSectionCount - end);
+        System.arraycopy(mSectionKeys, end, mSectionKeys, first, mSectionCount - end);
+        Arrays.fill(mSectionKeys, mSectionCount - (end - first), mSectionCount, null);
+        mSectionCount -= end - first;
+        for (int i = first; i < mSectionCount; i++) {
+            mSectionStarts[i] -= itemCount;
+        }
+        for (int i = 0; i < mDirtyCount; i++) {
+            mDirtyFrom[i] = removedPosition(mDirtyFrom[i], positionStart, itemCount);
+            mDirtyTo[i] = removedPosition(mDirtyTo[i], positionStart, itemCount);
+        }
+        /*删除后接到positionStart的item*/
+        markDirty(positionStart, positionStart);
+    }
+
+    /**
+     * 删除[positionStart, positionStart + itemCount)后原来的position的位置，被删除的位置归到positionStart
+     */
+    private static int removedPosition(int position, int positionStart, int itemCount) {
+        if (position >= positionStart + itemCount) {
+            return position - itemCount;
+        }
+        return Math.min(position, positionStart);
+    }
+
+    private void markDirty(int from, int to) {
+        if (mSectionsDirty) {
+            return;
+        }
+        if (mDirtyCount == MAX_DIRTY_RANGES) {
+            /*零散的变化太多，直接整体重新计算*/
+            mSectionsDirty = true;
+            mDirtyCount = 0;
+            return;
+        }
+        mDirtyFrom[mDirtyCount] = from;
+        mDirtyTo[mDirtyCount] = to;
+        mDirtyCount++;
+    }
+
+    /**
+     * 第一个起始位置不小于position的分组
+     */
+    private int lowerBound(int position) {
+        int low = 0;
+        int high = mSectionCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mSectionStarts[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureSectionCapacity(int capacity) {
+        if (capacity <= mSectionStarts.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, mSectionStarts.length * 2);
+        mSectionStarts = Arrays.copyOf(mSectionStarts, newLength);
+        mSectionKeys = Arrays.copyOf(mSectionKeys, newLength);
+    }
+
+    private static boolean sameKey(Object key, Object other) {
+        return key == null ? other == null : key.equals(other);
+    }
+}
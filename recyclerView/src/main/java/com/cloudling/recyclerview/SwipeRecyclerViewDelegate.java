@@ -1,5 +1,6 @@
 package com.cloudling.recyclerview;
 
+import android.util.SparseIntArray;
 import android.view.View;
 
 import androidx.annotation.NonNull;
@@ -9,6 +10,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * 描述：RecyclerView委托者（支持下拉刷新和上拉加载回调）
@@ -39,6 +43,71 @@ public class SwipeRecyclerViewDelegate<T> {
     private IFAdapter<T> mIFAdapter;
     private HeadRecyclerAdapter mHeadAdapter;
     private RecyclerViewAdapter<T> mAdapter;
+    /**
+     * 数据比对接口（用于submitList）
+     */
+    private IFDiffCallback<T> mDiffCallback;
+    /**
+     * 共享RecycledViewPool的key，为null时不共享
+     */
+    private Object mPoolKey;
+    /**
+     * viewType -> 最大缓存数
+     */
+    private final SparseIntArray mMaxRecycledViews = new SparseIntArray();
+    /**
+     * viewType -> 预加载的ViewDataBinding个数
+     */
+    private final SparseIntArray mPreInflateCounts = new SparseIntArray();
+    private PreInflateCache mPreInflateCache;
+    private AdapterMetrics mMetrics;
+    /**
+     * 存放数据的容器，为null时使用默认的ArrayList
+     */
+    private List<T> mBackingList;
+    /**
+     * 吸顶分组头，为null时不显示
+     */
+    private IFStickyHeader<T> mStickyHeader;
+    /**
+     * 排序模式的比较器，为null时不排序
+     */
+    private Comparator<T> mComparator;
+    /**
+     * 合帧刷新时每个item每秒最多刷新的次数，小于0为不开启
+     */
+    private int mFrameUpdateRate = -1;
+    private FrameUpdateScheduler<T> mUpdateScheduler;
+    /**
+     * 预加载即将显示的item的资源，为null时不预加载
+     */
+    private IFPrefetch<T> mPrefetch;
+    private int mPrefetchMinItems;
+    private int mPrefetchMaxItems;
+    /**
+     * 分页数据源（设置后按页加载，不再回调IFLoadOp.onLoadMore）
+     */
+    private IFPageSource<T> mPageSource;
+    private PagingConfig mPagingConfig;
+    private PagedLoader<T> mPagedLoader;
+    private final LayoutManagerHelper mLayoutManagerHelper = new LayoutManagerHelper();
+    /**
+     * 距离底部还有多少个item时开始加载更多
+     */
+    private int mLoadMorePrefetch = 5;
+    /**
+     * 是否根据滚动速度加大加载更多的距离
+     */
+    private boolean mLoadMoreScaleWithVelocity = true;
+    /**
+     * 下拉刷新时addAll是否只合并第一页（保留后面已加载的页）
+     */
+    private boolean mRefreshMerge;
+    /**
+     * 异步加载的超时和重试配置（IFLoadOp实现IFAsyncLoadOp时使用），为null时使用默认配置
+     */
+    private LoadConfig mLoadConfig;
+    private LoadCoordinator<T> mLoadCoordinator;
     /**
      * 当前的状态（默认为普通状态）
      */
@@ -114,113 +183,384 @@ public class SwipeRecyclerViewDelegate<T> {
         return this;
     }
 
-    public SwipeRecyclerViewDelegate<T> build() {
-        mAdapter = new RecyclerViewAdapter<>(mIFAdapter);
-        mHeadAdapter = new HeadRecyclerAdapter(mAdapter);
-        mRecyclerView.setAdapter(mHeadAdapter);
-        if (mIFLoadOp != null) {
-            mIFLoadOp.getRefreshLayout().setOnRefreshListener(() -> {
-                type = TYPE.REFRESH;
-                mIFLoadOp.onRefresh();
-            });
-            mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-                @Override
-                public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
-                    super.onScrollStateChanged(recyclerView, newState);
-                    if (newState == RecyclerView.SCROLL_STATE_IDLE) {
-                        /*滑动停止*/
-                    }
-                }
+    /**
+     * 与同一Activity中使用相同key的列表共享RecycledViewPool，新列表可以直接复用已回收的ViewHolder（Activity销毁时释放）
+     *
+     * @param key 共享的标识（一般用IFAdapter的类型），使用相同key的列表其viewType对应的布局必须相同
+     */
+    public SwipeRecyclerViewDelegate<T> sharedPool(Object key) {
+        this.mPoolKey = key;
+        return this;
+    }
 
-                @Override
-                public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                    super.onScrolled(recyclerView, dx, dy);
-                    /*得到当前显示的最后一个item的view*/
-                    View lastChildView = recyclerView.getLayoutManager().getChildAt(recyclerView.getLayoutManager().getChildCount() - 1);
-                    /*得到lastChildView的bottom坐标值*/
-                    int lastChildBottom = lastChildView.getBottom();
-                    /*得到Recyclerview的底部坐标减去底部padding值，也就是显示内容最底部的坐标*/
-                    int recyclerBottom = recyclerView.getBottom() - recyclerView.getPaddingBottom();
-                    /*通过这个lastChildView得到这个view当前的position值*/
-                    int lastPosition = recyclerView.getLayoutManager().getPosition(lastChildView);
-                    /*判断lastChildView的bottom值跟recyclerBottom
-                    判断lastPosition是不是最后一个position
-                    如果两个条件都满足则说明是真正的滑动到了底部*/
-                    if (lastChildBottom == recyclerBottom && lastPosition == recyclerView.getLayoutManager().getItemCount() - 1) {
-                        /*滑动到底了*/
-                        if (type == TYPE.NORMAL && mHasMore) {
-                            type = TYPE.LOADMORE;
-                            if (mIFLoading != null) {
-                                mIFLoading.loading(mLoadHint);
-                            }
-                            mIFLoadOp.onLoadMore();
-                        }
-                    }
+    /**
+     * 设置某个viewType的最大缓存数（默认为5），一屏显示较多的viewType可以调大
+     */
+    public SwipeRecyclerViewDelegate<T> maxRecycledViews(int viewType, int max) {
+        mMaxRecycledViews.put(viewType, max);
+        return this;
+    }
 
-                }
-            });
+    /**
+     * 排序模式：配合addSorted、updateSorted使用，数据按二分查找放到排序对应的位置
+     */
+    public SwipeRecyclerViewDelegate<T> comparator(Comparator<T> comparator) {
+        this.mComparator = comparator;
+        if (mAdapter != null) {
+            mAdapter.setComparator(comparator);
         }
         return this;
     }
 
+    /**
+     * 按分组显示吸顶的分组头（只支持竖直方向的列表），分组头创建后会被缓存
+     */
+    public SwipeRecyclerViewDelegate<T> stickyHeader(IFStickyHeader<T> stickyHeader) {
+        this.mStickyHeader = stickyHeader;
+        return this;
+    }
+
+    /**
+     * 更换存放数据的容器（如GapBufferList，适合在头部或中间频繁插入、拖拽排序的大列表）
+     */
+    public SwipeRecyclerViewDelegate<T> backingList(List<T> list) {
+        this.mBackingList = list;
+        return this;
+    }
+
+    /**
+     * 合帧刷新模式：scheduleUpdate的更新按位置合并（后一次覆盖前一次），每帧刷新一次，适合高频更新的列表
+     *
+     * @param maxUpdatesPerSecond 每个item每秒最多刷新的次数，0为不限制（每帧最多一次）
+     */
+    public SwipeRecyclerViewDelegate<T> frameUpdates(int maxUpdatesPerSecond) {
+        this.mFrameUpdateRate = Math.max(0, maxUpdatesPerSecond);
+        if (mUpdateScheduler != null) {
+            mUpdateScheduler.setMaxUpdateRate(mFrameUpdateRate);
+        }
+        return this;
+    }
+
+    /**
+     * 滚动时回调滚动方向上可见范围外即将显示的item，用于提前解码图片、排版文本等，离开可见范围附近时回调取消
+     *
+     * @param minItems 静止或慢速滚动时预加载的item数，滑得越快范围越大（按列数取整）
+     * @param maxItems 预加载的item数上限
+     */
+    public SwipeRecyclerViewDelegate<T> prefetch(IFPrefetch<T> prefetch, int minItems, int maxItems) {
+        this.mPrefetch = prefetch;
+        this.mPrefetchMinItems = minItems;
+        this.mPrefetchMaxItems = maxItems;
+        return this;
+    }
+
+    /**
+     * 按viewType统计创建和绑定耗时，可随时通过metrics.snapshot()导出、reset()清空；传null关闭
+     */
+    public SwipeRecyclerViewDelegate<T> metrics(AdapterMetrics metrics) {
+        this.mMetrics = metrics;
+        if (mAdapter != null) {
+            mAdapter.setMetrics(metrics);
+        }
+        return this;
+    }
+
+    /**
+     * build后在主线程空闲时预先创建count个该viewType的ViewDataBinding，首次滑动时直接使用，减少掉帧
+     */
+    public SwipeRecyclerViewDelegate<T> preInflate(int viewType, int count) {
+        mPreInflateCounts.put(viewType, mPreInflateCounts.get(viewType) + count);
+        return this;
+    }
+
+    /**
+     * 设置数据比对接口，设置后可使用submitList只刷新有变化的item
+     */
+    public SwipeRecyclerViewDelegate<T> diffCallback(IFDiffCallback<T> callback) {
+        this.mDiffCallback = callback;
+        return this;
+    }
+
+    /**
+     * 设置分页数据源，build时自动加载第一页（未加载的页以null占位，IFAdapter需处理data为null的情况）；
+     * 没有设置backingList时数据存放在只保存非null数据的容器中，占位不占用内存
+     *
+     * @param config 分页配置，为null时使用默认配置
+     */
+    public SwipeRecyclerViewDelegate<T> pageSource(IFPageSource<T> source, PagingConfig config) {
+        this.mPageSource = source;
+        this.mPagingConfig = config;
+        return this;
+    }
+
+    /**
+     * 设置距离底部还有多少个item时开始加载更多
+     *
+     * @param items              距离底部的item数，默认为5
+     * @param scaleWithVelocity  是否根据滚动速度加大距离（滑得越快越早加载），默认为true
+     */
+    public SwipeRecyclerViewDelegate<T> loadMorePrefetch(int items, boolean scaleWithVelocity) {
+        this.mLoadMorePrefetch = Math.max(0, items);
+        this.mLoadMoreScaleWithVelocity = scaleWithVelocity;
+        return this;
+    }
+
+    /**
+     * 下拉刷新合并模式：刷新中调用addAll时只用新的第一页替换列表头部对应的数据，后面已加载的页保留，
+     * 只刷新增删改的item（需设置diffCallback或IFAdapter实现IFKeyAdapter）；
+     * 需要知道是否替换了全部数据（以便重置页码）时改用mergeRefresh
+     */
+    public SwipeRecyclerViewDelegate<T> refreshMerge(boolean enable) {
+        this.mRefreshMerge = enable;
+        return this;
+    }
+
+    /**
+     * 设置异步加载（IFLoadOp实现IFAsyncLoadOp时）的超时和重试
+     */
+    public SwipeRecyclerViewDelegate<T> loadConfig(LoadConfig config) {
+        this.mLoadConfig = config;
+        return this;
+    }
+
+    public SwipeRecyclerViewDelegate<T> build() {
+        return build(null);
+    }
+
     public SwipeRecyclerViewDelegate<T> build(OnScrollBottomHelpListener onScrollBottomHelpListener) {
         mAdapter = new RecyclerViewAdapter<>(mIFAdapter);
+        mAdapter.setBackingList(mBackingList);
+        mAdapter.setMetrics(mMetrics);
+        mAdapter.setComparator(mComparator);
+        mAdapter.setDiffCallback(mDiffCallback);
+        if (mFrameUpdateRate >= 0) {
+            mUpdateScheduler = new FrameUpdateScheduler<>(mAdapter);
+            mUpdateScheduler.setMaxUpdateRate(mFrameUpdateRate);
+        }
         mHeadAdapter = new HeadRecyclerAdapter(mAdapter);
+        if (mStickyHeader != null) {
+            mRecyclerView.addItemDecoration(new StickyHeaderDecoration<>(mAdapter, mStickyHeader));
+        }
+        if (mPrefetch != null) {
+            mRecyclerView.addOnScrollListener(new ListPrefetcher<>(mAdapter, mHeadAdapter, mPrefetch,
+                    mPrefetchMinItems, mPrefetchMaxItems));
+        }
+        applyRecycledViewPool();
+        applyPreInflate();
         mRecyclerView.setAdapter(mHeadAdapter);
+        attachPagedLoader();
+        attachLoadCoordinator();
         if (mIFLoadOp != null) {
             mIFLoadOp.getRefreshLayout().setOnRefreshListener(() -> {
+                if (mLoadCoordinator != null) {
+                    if (type == TYPE.LOADMORE && mIFLoading != null) {
+                        /*刷新会取消正在进行的加载更多*/
+                        mIFLoading.gone();
+                    }
+                    type = TYPE.REFRESH;
+                    mLoadCoordinator.refresh();
+                    return;
+                }
                 type = TYPE.REFRESH;
                 mIFLoadOp.onRefresh();
             });
-            mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
-                @Override
-                public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
-                    super.onScrollStateChanged(recyclerView, newState);
-                    if (newState == RecyclerView.SCROLL_STATE_IDLE) {
-                        /*滑动停止*/
-                    }
+            mRecyclerView.addOnScrollListener(new LoadMoreScrollListener(onScrollBottomHelpListener));
+        }
+        return this;
+    }
+
+    /**
+     * 上拉加载的触发：最后一个可见item距离数据末尾不超过mLoadMorePrefetch（加上按速度估算的距离）时加载更多，
+     * 距离不计headerView和footerView，没有数据时不触发；
+     * 只用到LayoutManager的可见位置，线性/网格/交错网格都适用，也不受ItemDecoration影响
+     */
+    private class LoadMoreScrollListener extends RecyclerView.OnScrollListener {
+        /**
+         * 按速度估算时向前看的帧数（60fps下约0.5秒）
+         */
+        private static final int LOOKAHEAD_FRAMES = 30;
+        private final OnScrollBottomHelpListener mOnScrollBottomHelpListener;
+
+        LoadMoreScrollListener(OnScrollBottomHelpListener onScrollBottomHelpListener) {
+            this.mOnScrollBottomHelpListener = onScrollBottomHelpListener;
+        }
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (type != TYPE.NORMAL || !mHasMore || mPagedLoader != null) {
+                return;
+            }
+            RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+            if (layoutManager == null) {
+                return;
+            }
+            /*按内容（不含headerView、footerView和加载中的footer）计算，没有数据时不触发*/
+            int contentCount = mAdapter.getItemCount();
+            int lastPosition = mLayoutManagerHelper.findLastVisiblePosition(layoutManager);
+            if (contentCount == 0 || lastPosition == RecyclerView.NO_POSITION) {
+                return;
+            }
+            int headers = mHeadAdapter.getHeadersCount();
+            int lastContent = lastPosition - headers;
+            if (lastContent < 0) {
+                /*只显示了headerView*/
+                return;
+            }
+            /*显示到footerView时按最后一个item算*/
+            lastContent = Math.min(contentCount - 1, lastContent);
+            boolean vertical = layoutManager.canScrollVertically();
+            int delta = vertical ? dy : dx;
+            if (delta < 0) {
+                /*往回滑不触发*/
+                return;
+            }
+            int threshold = mLoadMorePrefetch;
+            if (mLoadMoreScaleWithVelocity && delta > 0) {
+                int firstPosition = mLayoutManagerHelper.findFirstVisiblePosition(layoutManager);
+                int extent = vertical ? recyclerView.getHeight() : recyclerView.getWidth();
+                if (firstPosition != RecyclerView.NO_POSITION && extent > 0) {
+                    /*用可见的item数估算每像素的item数，再乘以这一帧的滑动距离和向前看的帧数*/
+                    float itemsPerPixel = (lastPosition - firstPosition + 1) / (float) extent;
+                    threshold += (int) (delta * itemsPerPixel * LOOKAHEAD_FRAMES);
+                }
+            }
+            if (lastContent >= contentCount - 1 - threshold
+                    || isBottomByHelper(recyclerView, layoutManager, lastPosition, layoutManager.getItemCount())) {
+                /*快滑动到底了*/
+                type = TYPE.LOADMORE;
+                if (mIFLoading != null) {
+                    mIFLoading.loading(mLoadHint);
                 }
+                if (mLoadCoordinator != null) {
+                    mLoadCoordinator.loadMore();
+                } else {
+                    mIFLoadOp.onLoadMore();
+                }
+            }
+        }
 
-                @Override
-                public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
-                    super.onScrolled(recyclerView, dx, dy);
-                    /*得到当前显示的最后一个item的view*/
-                    View lastChildView = recyclerView.getLayoutManager().getChildAt(recyclerView.getLayoutManager().getChildCount() - 1);
-                    /*得到lastChildView的bottom坐标值*/
-                    int lastChildBottom = lastChildView.getBottom();
-                    /*得到Recyclerview的底部坐标减去底部padding值，也就是显示内容最底部的坐标*/
-                    int recyclerBottom = recyclerView.getBottom() - recyclerView.getPaddingBottom();
-                    /*通过这个lastChildView得到这个view当前的position值*/
-                    int lastPosition = recyclerView.getLayoutManager().getPosition(lastChildView);
-                    /*判断lastChildView的bottom值跟recyclerBottom
-                    判断lastPosition是不是最后一个position
-                    如果两个条件都满足则说明是真正的滑动到了底部*/
-                    if ((lastChildBottom == recyclerBottom && lastPosition == recyclerView.getLayoutManager().getItemCount() - 1)
-                            || (onScrollBottomHelpListener != null && onScrollBottomHelpListener.onScrollToBottom(lastChildBottom, recyclerBottom, lastPosition, (recyclerView.getLayoutManager().getItemCount() - 1)))) {
-                        /*滑动到底了*/
-                        if (type == TYPE.NORMAL && mHasMore) {
-                            type = TYPE.LOADMORE;
-                            if (mIFLoading != null) {
-                                mIFLoading.loading(mLoadHint);
-                            }
-                            mIFLoadOp.onLoadMore();
-                        }
-                    }
+        /**
+         * 兼容OnScrollBottomHelpListener
+         */
+        private boolean isBottomByHelper(RecyclerView recyclerView, RecyclerView.LayoutManager layoutManager, int lastPosition, int itemCount) {
+            if (mOnScrollBottomHelpListener == null || lastPosition != itemCount - 1) {
+                return false;
+            }
+            View lastChildView = layoutManager.getChildAt(layoutManager.getChildCount() - 1);
+            if (lastChildView == null) {
+                return false;
+            }
+            int recyclerBottom = recyclerView.getBottom() - recyclerView.getPaddingBottom();
+            return mOnScrollBottomHelpListener.onScrollToBottom(lastChildView.getBottom(), recyclerBottom, lastPosition, itemCount - 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void attachLoadCoordinator() {
+        if (!(mIFLoadOp instanceof IFAsyncLoadOp)) {
+            return;
+        }
+        mLoadCoordinator = new LoadCoordinator<>((IFAsyncLoadOp<T>) mIFLoadOp,
+                mLoadConfig != null ? mLoadConfig : new LoadConfig(), new LoadCoordinator.Listener<T>() {
+            @Override
+            public void onLoaded(boolean refresh, List<T> items, boolean endOfData) {
+                ArrayList<T> list = items == null ? new ArrayList<T>() : new ArrayList<>(items);
+                if (refresh) {
+                    /*开启refreshMerge时只合并第一页*/
+                    addAll(list);
+                    mIFLoadOp.getRefreshLayout().finishRefresh();
+                    mHasMore = true;
+                } else {
+                    add(list);
+                }
+                type = TYPE.NORMAL;
+                if (endOfData) {
+                    hasNoMore();
+                } else if (mIFLoading != null) {
+                    mIFLoading.gone();
+                }
+            }
 
+            @Override
+            public void onFailed(boolean refresh, Throwable error) {
+                type = TYPE.NORMAL;
+                if (refresh) {
+                    mIFLoadOp.getRefreshLayout().finishRefresh();
                 }
-            });
+                if (mIFLoading != null) {
+                    mIFLoading.gone();
+                }
+            }
+        });
+    }
+
+    /**
+     * 取消正在进行的异步加载（IFLoadOp实现IFAsyncLoadOp时），之后回调的结果会被忽略
+     */
+    public void cancelLoad() {
+        if (mLoadCoordinator == null) {
+            return;
+        }
+        mLoadCoordinator.cancel();
+        if (type == TYPE.REFRESH) {
+            mIFLoadOp.getRefreshLayout().finishRefresh();
+        } else if (type == TYPE.LOADMORE && mIFLoading != null) {
+            mIFLoading.gone();
+        }
+        type = TYPE.NORMAL;
+    }
+
+    private void attachPagedLoader() {
+        if (mPageSource == null) {
+            return;
+        }
+        if (mBackingList == null) {
+            /*占位的null不占用数组，内存只和在内存中的页数有关*/
+            mAdapter.setBackingList(new SparseItemList<T>());
+        }
+        mPagedLoader = new PagedLoader<>(mAdapter, mPageSource, mPagingConfig != null ? mPagingConfig : new PagingConfig());
+        mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+                int first = mLayoutManagerHelper.findFirstVisiblePosition(layoutManager);
+                int last = mLayoutManagerHelper.findLastVisiblePosition(layoutManager);
+                if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+                    return;
+                }
+                /*去掉headerView的偏移*/
+                int headers = mHeadAdapter.getHeadersCount();
+                first = Math.max(0, first - headers);
+                last = Math.min(mAdapter.getItemCount() - 1, last - headers);
+                if (last >= first) {
+                    mPagedLoader.onVisibleRangeChanged(first, last);
+                }
+            }
+        });
+        mPagedLoader.refresh();
+    }
+
+    /**
+     * 清空数据并从第一页重新加载（设置了pageSource时使用）
+     */
+    public void refreshPages() {
+        if (mPagedLoader != null) {
+            mPagedLoader.refresh();
         }
-        return this;
     }
 
     /**
-     * 辅助处理是否滚动到底部（当我们有设置ItemDecoration的时候，则lastChildBottom需要+ItemDecoration的高度才会等于recyclerBottom）
+     * 辅助处理是否滚动到底部（当我们有设置ItemDecoration的时候，则lastChildBottom需要+ItemDecoration的高度才会等于recyclerBottom）。
+     * 现在按距离末尾的item数触发加载，不再受ItemDecoration影响，一般不再需要
      */
     public interface OnScrollBottomHelpListener {
         boolean onScrollToBottom(int lastChildBottom, int recyclerBottom, int lastPosition, int itemCount);
     }
 
     public void reset() {
+        if (mLoadCoordinator != null) {
+            mLoadCoordinator.cancel();
+        }
         type = TYPE.NORMAL;
         mHasMore = true;
         if (mIFLoadOp != null) {
@@ -261,12 +601,109 @@ public class SwipeRecyclerViewDelegate<T> {
     }
 
     /**
-     * 添加数据，会覆盖原有的数据
+     * 添加数据，会覆盖原有的数据（开启refreshMerge时刷新中调用只合并第一页）
      */
     public void addAll(ArrayList<T> list) {
+        if (mRefreshMerge && type == TYPE.REFRESH) {
+            if (PendingOpQueue.isMainThread()) {
+                mergeRefresh(list);
+            } else {
+                /*合并需要在主线程进行，执行前会先执行已入队的操作*/
+                PendingOpQueue.mainHandler().post(() -> mergeRefresh(list));
+            }
+            return;
+        }
         mAdapter.addAll(list);
     }
 
+    /**
+     * 用刷新得到的第一页合并列表头部（需在主线程调用），后面已加载的页保留，只刷新增删改的item；
+     * 和已加载的数据接不上时替换全部数据，并恢复为有更多数据
+     *
+     * @return 被替换的头部item数，替换了全部数据时为RecyclerViewAdapter.MERGE_REPLACED_ALL（页码需要从第一页重新计算）
+     */
+    public int mergeRefresh(List<T> firstPage) {
+        int replaced = mAdapter.mergeHead(firstPage);
+        if (replaced == RecyclerViewAdapter.MERGE_REPLACED_ALL) {
+            /*后面的页已经被替换掉，需要重新加载*/
+            mHasMore = true;
+        }
+        return replaced;
+    }
+
+    /**
+     * 添加数据，会覆盖原有的数据（在后台比对新旧数据，只刷新有变化的item，需先设置diffCallback）
+     */
+    public void submitList(List<T> list) {
+        mAdapter.submitList(list);
+    }
+
+    /**
+     * 更新数据（任意线程），开启frameUpdates时合并到下一帧刷新，否则直接更新
+     *
+     * @param payload 局部刷新的payload，为null时整项刷新
+     */
+    public void scheduleUpdate(int index, T single, Object payload) {
+        if (mUpdateScheduler != null) {
+            mUpdateScheduler.update(index, single, payload);
+        } else {
+            mAdapter.update(index, single, payload);
+        }
+    }
+
+    /**
+     * 合帧刷新的调度器（可查看合并、丢弃的次数），未开启frameUpdates时为null
+     */
+    public FrameUpdateScheduler<T> getUpdateScheduler() {
+        return mUpdateScheduler;
+    }
+
+    /**
+     * 按排序插入数据（需设置comparator）
+     *
+     * @return 插入的位置（不包含HeaderView）
+     */
+    public int addSorted(T single) {
+        return mAdapter.addSorted(single);
+    }
+
+    /**
+     * 按排序批量插入数据（需设置comparator），连续插入的位置合并成一次范围通知
+     */
+    public void addSorted(Collection<T> list) {
+        mAdapter.addSorted(list);
+    }
+
+    /**
+     * 更新数据并按新的排序移动到对应的位置（需设置comparator）
+     *
+     * @return 更新后的位置（不包含HeaderView）
+     */
+    public int updateSorted(int index, T single) {
+        return mAdapter.updateSorted(index, single);
+    }
+
+    /**
+     * 在后台线程按条件过滤，只刷新增删的item，完整数据保留（clearFilter恢复）
+     */
+    public void setFilter(IFPredicate<T> filter) {
+        mAdapter.setFilter(filter);
+    }
+
+    /**
+     * 在后台线程按关键字过滤，继续输入时只在上一次的结果中过滤
+     */
+    public void setQuery(String query, IFQueryMatcher<T> matcher) {
+        mAdapter.setQuery(query, matcher);
+    }
+
+    /**
+     * 取消过滤，恢复完整的数据
+     */
+    public void clearFilter() {
+        mAdapter.clearFilter();
+    }
+
     /**
      * 添加HeaderView
      *
@@ -321,6 +758,13 @@ public class SwipeRecyclerViewDelegate<T> {
         return mHeadAdapter.getFootersCount();
     }
 
+    /**
+     * 批量修改数据（位置都不算headerView或footerView），结束时合并成最少的范围通知一次性分发
+     */
+    public void batch(IFBatch<T> batch) {
+        mAdapter.batch(batch);
+    }
+
     /**
      * 移除Item（非headerView或footerView）
      *
@@ -330,6 +774,45 @@ public class SwipeRecyclerViewDelegate<T> {
         mAdapter.remove(index);
     }
 
+    /**
+     * 移除一段连续的Item（非headerView或footerView）
+     *
+     * @param from  起始位置（不算headerView或footerView的位置）
+     * @param count 移除的个数
+     */
+    public void removeRange(int from, int count) {
+        mAdapter.removeRange(from, count);
+    }
+
+    /**
+     * 移除满足条件的Item（非headerView或footerView）
+     *
+     * @return 移除的个数
+     */
+    public int removeIf(IFPredicate<T> filter) {
+        return mAdapter.removeIf(filter);
+    }
+
+    /**
+     * 更新Item（非headerView或footerView）
+     *
+     * @param index   待更新的item的位置（不算headerView或footerView的位置）
+     * @param payload 局部刷新的payload（IFAdapter需实现IFPayloadAdapter），为null时整项刷新
+     */
+    public void updateItem(int index, T single, Object payload) {
+        mAdapter.update(index, single, payload);
+    }
+
+    /**
+     * 刷新Item（非headerView或footerView）
+     *
+     * @param index   待刷新的item的位置（不算headerView或footerView的位置）
+     * @param payload 局部刷新的payload（IFAdapter需实现IFPayloadAdapter），为null时整项刷新
+     */
+    public void notifyItemChanged(int index, Object payload) {
+        mAdapter.notifyItemChanged(index, payload);
+    }
+
     /**
      * 把fromPosition位置的item移到toPosition位置
      *
@@ -383,6 +866,42 @@ public class SwipeRecyclerViewDelegate<T> {
         }
     }
 
+    private void applyPreInflate() {
+        if (mPreInflateCounts.size() == 0) {
+            return;
+        }
+        mPreInflateCache = new PreInflateCache(mIFAdapter, mRecyclerView);
+        for (int i = 0; i < mPreInflateCounts.size(); i++) {
+            mPreInflateCache.preInflate(mPreInflateCounts.keyAt(i), mPreInflateCounts.valueAt(i));
+        }
+        mAdapter.setPreInflateCache(mPreInflateCache);
+    }
+
+    /**
+     * 预加载缓存（可获取命中/未命中次数），没有设置preInflate时为null
+     */
+    public PreInflateCache getPreInflateCache() {
+        return mPreInflateCache;
+    }
+
+    private void applyRecycledViewPool() {
+        if (mPoolKey != null) {
+            RecycledViewPoolManager manager = RecycledViewPoolManager.getInstance();
+            for (int i = 0; i < mMaxRecycledViews.size(); i++) {
+                manager.setMaxRecycledViews(mPoolKey, mMaxRecycledViews.keyAt(i), mMaxRecycledViews.valueAt(i));
+            }
+            mRecyclerView.setRecycledViewPool(manager.obtain(mRecyclerView.getContext(), mPoolKey));
+            if (mRecyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+                /*列表从窗口移除时（如切换Fragment）把item回收到共享的缓存池中，给同一Activity中的其他列表使用；Activity销毁时缓存池已被释放，不会持有已销毁的Activity*/
+                ((LinearLayoutManager) mRecyclerView.getLayoutManager()).setRecycleChildrenOnDetach(true);
+            }
+        } else {
+            for (int i = 0; i < mMaxRecycledViews.size(); i++) {
+                mRecyclerView.getRecycledViewPool().setMaxRecycledViews(mMaxRecycledViews.keyAt(i), mMaxRecycledViews.valueAt(i));
+            }
+        }
+    }
+
     private void initLinearLayoutManager(int orientation) {
         //默认的layoutManager
         LinearLayoutManager mManager = new LinearLayoutManager(mRecyclerView.getContext());
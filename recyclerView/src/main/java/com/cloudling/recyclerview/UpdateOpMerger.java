@@ -0,0 +1,164 @@
+package com.cloudling.recyclerview;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述：记录批量操作产生的通知，合并成最少的范围通知后再一次性分发
+ * （相邻的插入/删除合并，插入后又删除的相互抵消，落在新插入范围内的刷新直接丢弃）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+final class UpdateOpMerger implements ListUpdateCallback {
+    private static final int INSERT = 1;
+    private static final int REMOVE = 2;
+    private static final int CHANGE = 3;
+    private static final int MOVE = 4;
+
+    private final List<Op> mOps = new ArrayList<>();
+
+    @Override
+    public void onInserted(int position, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Op last = last();
+        if (last != null && last.type == INSERT && position >= last.position && position <= last.position + last.count) {
+            /*插在上一次插入的范围内或紧挨着，合并成一次插入*/
+            last.count += count;
+            return;
+        }
+        mOps.add(new Op(INSERT, position, count, null));
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        while (count > 0) {
+            Op last = last();
+            if (last == null) {
+                break;
+            }
+            if (last.type == REMOVE) {
+                if (position == last.position) {
+                    /*连续删除同一位置*/
+                    last.count += count;
+                    return;
+                }
+                if (position + count == last.position) {
+                    /*删除紧挨在上一次删除的前面*/
+                    last.position = position;
+                    last.count += count;
+                    return;
+                }
+                break;
+            }
+            if (last.type == INSERT) {
+                int insertEnd = last.position + last.count;
+                if (position >= last.position && position + count <= insertEnd) {
+                    /*删除的全是刚插入的，抵消掉*/
+                    last.count -= count;
+                    if (last.count == 0) {
+                        mOps.remove(mOps.size() - 1);
+                    }
+                    return;
+                }
+                if (position <= last.position && position + count >= insertEnd) {
+                    /*刚插入的全被删除，剩下的删除继续和前面的操作合并*/
+                    count -= last.count;
+                    mOps.remove(mOps.size() - 1);
+                    continue;
+                }
+            }
+            break;
+        }
+        if (count > 0) {
+            mOps.add(new Op(REMOVE, position, count, null));
+        }
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        if (fromPosition == toPosition) {
+            return;
+        }
+        Op op = new Op(MOVE, fromPosition, 1, null);
+        op.toPosition = toPosition;
+        mOps.add(op);
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        if (count <= 0) {
+            return;
+        }
+        Op last = last();
+        if (last != null) {
+            if (last.type == INSERT && position >= last.position && position + count <= last.position + last.count) {
+                /*刚插入的item还没绑定过，不需要再刷新*/
+                return;
+            }
+            if (last.type == CHANGE && last.payload == payload
+                    && position <= last.position + last.count && position + count >= last.position) {
+                /*相邻或重叠的刷新合并*/
+                int end = Math.max(last.position + last.count, position + count);
+                last.position = Math.min(last.position, position);
+                last.count = end - last.position;
+                return;
+            }
+        }
+        mOps.add(new Op(CHANGE, position, count, payload));
+    }
+
+    /**
+     * 按记录的顺序分发合并后的通知，分发后清空
+     */
+    void dispatchTo(ListUpdateCallback callback) {
+        for (Op op : mOps) {
+            switch (op.type) {
+                case INSERT:
+                    callback.onInserted(op.position, op.count);
+                    break;
+                case REMOVE:
+                    callback.onRemoved(op.position, op.count);
+                    break;
+                case CHANGE:
+                    callback.onChanged(op.position, op.count, op.payload);
+                    break;
+                case MOVE:
+                    callback.onMoved(op.position, op.toPosition);
+                    break;
+                default:
+                    break;
+            }
+        }
+        mOps.clear();
+    }
+
+    /**
+     * 合并后的通知个数
+     */
+    int size() {
+        return mOps.size();
+    }
+
+    private Op last() {
+        return mOps.isEmpty() ? null : mOps.get(mOps.size() - 1);
+    }
+
+    private static class Op {
+        final int type;
+        int position;
+        int count;
+        int toPosition;
+        final Object payload;
+
+        Op(int type, int position, int count, Object payload) {
+            this.type = type;
+            this.position = position;
+            this.count = count;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cloudling.recyclerview;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：AdapterMetrics的区间划分、快照和清空
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class AdapterMetricsTest {
+
+    @Test
+    public void bucketOf_isPowerOfTwoMicros() {
+        assertEquals(0, AdapterMetrics.bucketOf(999));
+        assertEquals(1, AdapterMetrics.bucketOf(1_000));
+        assertEquals(2, AdapterMetrics.bucketOf(2_000));
+        assertEquals(2, AdapterMetrics.bucketOf(3_999));
+        assertEquals(3, AdapterMetrics.bucketOf(4_000));
+        assertEquals(AdapterMetrics.BUCKET_COUNT - 1, AdapterMetrics.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void snapshot_isIsolatedAndResetClears() {
+        AdapterMetrics metrics = new AdapterMetrics();
+        metrics.recordCreate(1, 5_000_000);
+        metrics.recordBind(1, 200_000);
+        metrics.recordBind(1, 250_000);
+        metrics.recordBind(2, 10_000);
+
+        List<AdapterMetrics.TypeStats> snapshot = metrics.snapshot();
+        metrics.recordBind(1, 1);
+        metrics.reset();
+
+        assertEquals(2, snapshot.size());
+        AdapterMetrics.TypeStats type1 = snapshot.get(0);
+        assertEquals(1, type1.getViewType());
+        assertEquals(1, type1.getCreate().getCount());
+        assertEquals(2, type1.getBind().getCount());
+        assertEquals(450_000, type1.getBind().getTotalNanos());
+        assertEquals(250_000, type1.getBind().getMaxNanos());
+        assertEquals(2, type1.getBind().getBucket(AdapterMetrics.bucketOf(200_000)));
+        assertEquals(1, snapshot.get(1).getBind().getCount());
+
+        for (AdapterMetrics.TypeStats stats : metrics.snapshot()) {
+            assertEquals(0, stats.getCreate().getCount());
+            assertEquals(0, stats.getBind().getCount());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：验证增删移只发出最少的结构变化通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AdapterMutationTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        mAdapter.addAll(list);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void remove_emitsSingleNotification() {
+        mAdapter.remove(10);
+        assertEquals(Collections.singletonList("remove(10,1)"), mObserver.events);
+        assertEquals(9_999, mAdapter.getItemCount());
+        assertEquals(Integer.valueOf(11), mAdapter.getItem(10));
+    }
+
+    @Test
+    public void addAtIndex_insertsAtIndex() {
+        mAdapter.add(-1, 5);
+        assertEquals(Collections.singletonList("insert(5,1)"), mObserver.events);
+        assertEquals(Integer.valueOf(-1), mAdapter.getItem(5));
+        assertEquals(Integer.valueOf(5), mAdapter.getItem(6));
+    }
+
+    @Test
+    public void move_emitsSingleNotification() {
+        mAdapter.move(2, 8);
+        assertEquals(Collections.singletonList("move(2,8)"), mObserver.events);
+        assertEquals(Integer.valueOf(2), mAdapter.getItem(8));
+    }
+
+    @Test
+    public void removeRange_emitsSingleRange() {
+        mAdapter.removeRange(100, 50);
+        assertEquals(Collections.singletonList("remove(100,50)"), mObserver.events);
+        assertEquals(Integer.valueOf(150), mAdapter.getItem(100));
+    }
+
+    @Test
+    public void removeIf_coalescesContiguousRuns() {
+        final int[] countsWhenNotified = new int[3];
+        mAdapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            int mIndex;
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                countsWhenNotified[mIndex++] = mAdapter.getItemCount();
+            }
+        });
+        int removed = mAdapter.removeIf(data -> (data >= 10 && data < 20) || (data >= 30 && data < 35) || data == 9_999);
+        assertEquals(16, removed);
+        /*数据整理完才通知，从后往前通知，每一段的位置都是原来的位置*/
+        assertEquals(Arrays.asList("remove(9999,1)", "remove(30,5)", "remove(10,10)"), mObserver.events);
+        assertArrayEquals(new int[]{10_000 - 16, 10_000 - 16, 10_000 - 16}, countsWhenNotified);
+        assertEquals(10_000 - 16, mAdapter.getItemCount());
+        assertEquals(Integer.valueOf(20), mAdapter.getItem(10));
+        assertEquals(Integer.valueOf(35), mAdapter.getItem(20));
+    }
+}
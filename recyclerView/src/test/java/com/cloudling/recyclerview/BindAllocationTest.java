@@ -0,0 +1,71 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：验证稳定状态下onBindViewHolder不再分配对象（之前每次绑定都会创建两个监听）
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BindAllocationTest {
+    private static final int ITEM_COUNT = 100;
+    private static final int BIND_COUNT = 100_000;
+
+    @Test
+    public void steadyStateBind_allocatesNothing() {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            private int mLast;
+
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+                mLast = data;
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return new TestBinding(new View(parent.getContext()));
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        adapter.setOnItemClickListener((data, position) -> {
+        });
+        adapter.setOnItemLongClickListener((data, position) -> true);
+        BaseViewHolder<Integer> holder = adapter.onCreateViewHolder(new FrameLayout(RuntimeEnvironment.getApplication()), 0);
+
+        /*预热，让JIT编译完成*/
+        for (int i = 0; i < BIND_COUNT; i++) {
+            adapter.onBindViewHolder(holder, i % ITEM_COUNT);
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < BIND_COUNT; i++) {
+            adapter.onBindViewHolder(holder, i % ITEM_COUNT);
+        }
+        long allocated = allocatedBytes() - before;
+        /*每次绑定哪怕只分配一个对象，十万次也远超这个值，这里只留给计数本身的误差*/
+        assertTrue("binding allocated " + allocated + " bytes", allocated < 4096);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,110 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：合帧刷新：同一位置的更新后一次覆盖前一次、每帧刷新一次、限制刷新频率、增删时位置跟随
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FrameUpdateSchedulerTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private FrameUpdateScheduler<Integer> mScheduler;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(0);
+        }
+        mAdapter.add(list);
+        mScheduler = new FrameUpdateScheduler<>(mAdapter);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void updatesInOneFrame_lastWriteWinsAndRangesMerge() {
+        for (int round = 1; round <= 10; round++) {
+            for (int position = 0; position < 10; position++) {
+                mScheduler.update(position, round, null);
+            }
+        }
+        assertEquals(Collections.emptyList(), mObserver.events);
+
+        nextFrame();
+
+        assertEquals(Collections.singletonList("change(0,10)"), mObserver.events);
+        assertEquals(Integer.valueOf(10), mAdapter.getData().get(9));
+        assertEquals(10, mScheduler.getAppliedCount());
+        assertEquals(90, mScheduler.getMergedCount());
+        assertEquals(0, mScheduler.getPendingCount());
+    }
+
+    @Test
+    public void maxUpdateRate_defersAndMergesUntilIntervalPassed() {
+        mScheduler.setMaxUpdateRate(10);
+        mScheduler.update(3, 1, null);
+        nextFrame();
+        assertEquals(Integer.valueOf(1), mAdapter.getData().get(3));
+
+        mScheduler.update(3, 2, null);
+        nextFrame();
+        mScheduler.update(3, 3, null);
+        nextFrame();
+        assertEquals(Integer.valueOf(1), mAdapter.getData().get(3));
+        assertEquals(1, mScheduler.getPendingCount());
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+        assertEquals(Integer.valueOf(3), mAdapter.getData().get(3));
+        assertEquals(2, mScheduler.getAppliedCount());
+        assertEquals(1, mScheduler.getMergedCount());
+    }
+
+    @Test
+    public void structuralChanges_shiftOrDropPendingUpdates() {
+        mScheduler.update(5, 50, null);
+        mScheduler.update(8, 80, null);
+        mAdapter.add(-1, 0);
+        mAdapter.remove(9);
+
+        nextFrame();
+
+        assertEquals(Integer.valueOf(50), mAdapter.getData().get(6));
+        assertEquals(Arrays.asList(0, 0, 0), mAdapter.getData().subList(7, 10));
+        assertEquals(1, mScheduler.getAppliedCount());
+        assertEquals(1, mScheduler.getDroppedCount());
+    }
+
+    private static void nextFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(17));
+    }
+}
@@ -0,0 +1,73 @@
+package com.cloudling.recyclerview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：GapBufferList随机增删改移后和ArrayList保持一致
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class GapBufferListTest {
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        GapBufferList<Integer> list = new GapBufferList<>(2);
+        List<Integer> reference = new ArrayList<>();
+        for (int round = 0; round < 20_000; round++) {
+            int size = reference.size();
+            int op = random.nextInt(7);
+            if (op == 0 || size == 0) {
+                int index = random.nextInt(size + 1);
+                list.add(index, round);
+                reference.add(index, round);
+            } else if (op == 1) {
+                int index = random.nextInt(size);
+                assertEquals(reference.remove(index), list.remove(index));
+            } else if (op == 2) {
+                int index = random.nextInt(size);
+                assertEquals(reference.set(index, -round), list.set(index, -round));
+            } else if (op == 3) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                list.add(to, list.remove(from));
+                reference.add(to, reference.remove(from));
+            } else if (op == 4) {
+                int index = random.nextInt(size + 1);
+                List<Integer> items = Arrays.asList(round, round + 1, round + 2);
+                list.addAll(index, items);
+                reference.addAll(index, items);
+            } else if (op == 5) {
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(4));
+                list.subList(from, to).clear();
+                reference.subList(from, to).clear();
+            } else {
+                list.add(round);
+                reference.add(round);
+            }
+            assertEquals(reference.size(), list.size());
+        }
+        assertEquals(reference, list);
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void repeatedHeadInsert() {
+        GapBufferList<Integer> list = new GapBufferList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(0, i);
+        }
+        assertEquals(100_000, list.size());
+        assertEquals(99_999, (int) list.get(0));
+        assertEquals(0, (int) list.get(99_999));
+    }
+}
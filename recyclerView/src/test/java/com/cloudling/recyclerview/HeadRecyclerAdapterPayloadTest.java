@@ -0,0 +1,112 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：经过HeadRecyclerAdapter包装后局部刷新的payload仍能传到IFPayloadAdapter，没有payload的范围刷新照常转发
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HeadRecyclerAdapterPayloadTest {
+
+    @Test
+    public void payloadUpdate_reachesPayloadAdapterThroughWrapper() {
+        List<String> binds = new ArrayList<>();
+        RecyclerViewAdapter<Integer> adapter = newPayloadAdapter(binds);
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(adapter);
+        headAdapter.addHeaderView(new View(RuntimeEnvironment.getApplication()));
+        RecyclerView recyclerView = newRecyclerView(headAdapter);
+        RecordingObserver observer = new RecordingObserver();
+        headAdapter.registerAdapterDataObserver(observer);
+        binds.clear();
+
+        adapter.update(2, 20, "price");
+        layout(recyclerView);
+
+        /*位置加上headerView的偏移，绑定时是数据中的位置*/
+        assertEquals(Collections.singletonList("change(3,1,price)"), observer.events);
+        assertEquals(Collections.singletonList("payload(2,20,[price])"), binds);
+    }
+
+    @Test
+    public void rangeChangeWithoutPayload_isForwarded() {
+        List<String> binds = new ArrayList<>();
+        RecyclerViewAdapter<Integer> adapter = newPayloadAdapter(binds);
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(adapter);
+        headAdapter.addHeaderView(new View(RuntimeEnvironment.getApplication()));
+        RecyclerView recyclerView = newRecyclerView(headAdapter);
+        RecordingObserver observer = new RecordingObserver();
+        headAdapter.registerAdapterDataObserver(observer);
+        binds.clear();
+
+        adapter.notifyItemRangeChanged(2, 3);
+        layout(recyclerView);
+
+        assertEquals(Collections.singletonList("change(3,3)"), observer.events);
+        assertTrue(binds.toString(), binds.containsAll(Arrays.asList("full(2,2)", "full(3,3)", "full(4,4)")));
+        for (String bind : binds) {
+            assertFalse(bind, bind.startsWith("payload"));
+        }
+    }
+
+    private static RecyclerViewAdapter<Integer> newPayloadAdapter(final List<String> binds) {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFPayloadAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type, List<Object> payloads) {
+                binds.add("payload(" + position + "," + data + "," + payloads + ")");
+            }
+
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+                binds.add("full(" + position + "," + data + ")");
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                View view = new View(parent.getContext());
+                view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 100));
+                return new TestBinding(view);
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        return adapter;
+    }
+
+    private static RecyclerView newRecyclerView(HeadRecyclerAdapter headAdapter) {
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.getApplication());
+        recyclerView.setLayoutManager(new LinearLayoutManager(RuntimeEnvironment.getApplication()));
+        recyclerView.setAdapter(headAdapter);
+        layout(recyclerView);
+        return recyclerView;
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, 1080, 1920);
+    }
+}
@@ -0,0 +1,136 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：添加HeaderView/FooterView的耗时与数据量无关，不再遍历列表的viewType
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HeadRecyclerAdapterTest {
+
+    @Test
+    public void addFixedViews_doesNotScanItemViewTypes() {
+        final int[] viewTypeCalls = new int[1];
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFTypeAdapter<Integer>() {
+            @Override
+            public int getItemViewType(int position) {
+                viewTypeCalls[0]++;
+                return position % 3;
+            }
+
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(adapter);
+
+        FrameLayout parent = new FrameLayout(RuntimeEnvironment.getApplication());
+        View header = new View(RuntimeEnvironment.getApplication());
+        View footer = new View(RuntimeEnvironment.getApplication());
+        long start = System.nanoTime();
+        headAdapter.addHeaderView(header);
+        headAdapter.addFooterView(footer);
+        for (int i = 0; i < 100; i++) {
+            headAdapter.addHeaderView(new View(RuntimeEnvironment.getApplication()));
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(0, viewTypeCalls[0]);
+        /*之前每次添加都要遍历5万个item，这里只是给一个宽松的上限*/
+        assertTrue("adding 102 fixed views took " + elapsedMs + "ms", elapsedMs < 500);
+
+        int headerType = headAdapter.getItemViewType(0);
+        int footerType = headAdapter.getItemViewType(headAdapter.getItemCount() - 1);
+        assertTrue(headerType >= HeadRecyclerAdapter.RESERVED_VIEW_TYPE_START);
+        assertTrue(footerType >= HeadRecyclerAdapter.RESERVED_VIEW_TYPE_START);
+        assertSame(header, headAdapter.onCreateViewHolder(parent, headerType).itemView);
+        assertSame(footer, headAdapter.onCreateViewHolder(parent, footerType).itemView);
+    }
+
+    @Test
+    public void removedViewType_isNotFoundAnymore() {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return new TestBinding(new View(parent.getContext()));
+            }
+        });
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(adapter);
+        View header = new View(RuntimeEnvironment.getApplication());
+        headAdapter.addHeaderView(header);
+        int headerType = headAdapter.getItemViewType(0);
+        headAdapter.removeHeaderView(header);
+
+        FrameLayout parent = new FrameLayout(RuntimeEnvironment.getApplication());
+        assertTrue(headAdapter.onCreateViewHolder(parent, headerType).itemView != header);
+    }
+
+    @Test
+    public void stableIds_forwardedWithReservedFixedIds() {
+        RecyclerViewAdapter<Long> adapter = new RecyclerViewAdapter<>(new IFKeyAdapter<Long>() {
+            @Override
+            public long getItemKey(Long data) {
+                return data;
+            }
+
+            @Override
+            public void updateView(Long data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Long> list = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            list.add(i * 100);
+        }
+        adapter.addAll(list);
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(adapter);
+        headAdapter.addHeaderView(new View(RuntimeEnvironment.getApplication()));
+        headAdapter.addFooterView(new View(RuntimeEnvironment.getApplication()));
+
+        assertTrue(adapter.hasStableIds());
+        assertTrue(headAdapter.hasStableIds());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(i * 100L, headAdapter.getItemId(i + 1));
+        }
+        long headerId = headAdapter.getItemId(0);
+        long footerId = headAdapter.getItemId(headAdapter.getItemCount() - 1);
+        assertTrue(headerId != footerId);
+        assertTrue(headerId < HeadRecyclerAdapter.RESERVED_ID_START + 0x100000);
+        assertTrue(footerId < HeadRecyclerAdapter.RESERVED_ID_START + 0x100000);
+    }
+}
@@ -0,0 +1,119 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：submitList只应用最后一次提交的数据，比对期间数据被修改时以当前数据重新比对
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListDifferTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+    private final List<Runnable> mTasks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        mAdapter.setDiffExecutor(mTasks::add);
+        mAdapter.setDiffCallback(new IFDiffCallback<Integer>() {
+            @Override
+            public boolean areItemsTheSame(Integer oldItem, Integer newItem) {
+                return oldItem.equals(newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(Integer oldItem, Integer newItem) {
+                return oldItem.equals(newItem);
+            }
+        });
+        mAdapter.addAll(new ArrayList<>(Arrays.asList(1, 2, 3)));
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void emptySide_appliesWithoutDiff() {
+        mAdapter.submitList(Collections.<Integer>emptyList());
+        assertEquals(0, mTasks.size());
+        assertEquals(Collections.singletonList("remove(0,3)"), mObserver.events);
+
+        mAdapter.submitList(Arrays.asList(4, 5));
+        assertEquals(0, mTasks.size());
+        assertEquals(Arrays.asList(4, 5), mAdapter.getData());
+    }
+
+    @Test
+    public void latestSubmit_wins() {
+        int[] commits = new int[2];
+        mAdapter.submitList(Arrays.asList(1, 2, 3, 4), () -> commits[0]++);
+        mAdapter.submitList(Arrays.asList(1, 3), () -> commits[1]++);
+        assertEquals(2, runTasks());
+
+        /*第一次的结果被丢弃，不会先插入4再删除*/
+        assertEquals(Arrays.asList(1, 3), mAdapter.getData());
+        assertEquals(Collections.singletonList("remove(1,1)"), mObserver.events);
+        assertEquals(0, commits[0]);
+        assertEquals(1, commits[1]);
+    }
+
+    @Test
+    public void mutationDuringDiff_rediffsAgainstCurrentData() {
+        int[] commits = new int[1];
+        mAdapter.submitList(Arrays.asList(1, 2, 3, 4), () -> commits[0]++);
+        /*比对还在后台进行时追加数据*/
+        mAdapter.add(new ArrayList<>(Collections.singletonList(9)));
+        assertEquals(Collections.singletonList("insert(3,1)"), mObserver.events);
+
+        /*旧的比对结果不可用，以[1, 2, 3, 9]重新比对一次*/
+        assertEquals(2, runTasks());
+        assertEquals(Arrays.asList(1, 2, 3, 4), mAdapter.getData());
+        assertEquals(1, commits[0]);
+        assertFalse(mObserver.events.contains("changed"));
+        assertEquals(Arrays.asList("insert(3,1)", "remove(3,1)", "insert(3,1)"), mObserver.events);
+    }
+
+    /**
+     * 执行后台比对和主线程消息，直到没有新的比对（重新比对会再提交任务）
+     *
+     * @return 执行的比对次数
+     */
+    private int runTasks() {
+        int count = 0;
+        do {
+            while (!mTasks.isEmpty()) {
+                mTasks.remove(0).run();
+                count++;
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+        } while (!mTasks.isEmpty());
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：后台过滤只发出增删通知，继续输入时只在上一次的结果中过滤，被取代的过滤不会生效
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListFilterTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+    private final List<Runnable> mTasks = new ArrayList<>();
+    private int mMatches;
+    private final IFQueryMatcher<Integer> mMatcher = (data, query) -> {
+        mMatches++;
+        return String.valueOf(data).contains(query);
+    };
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        mAdapter.setDiffExecutor(mTasks::add);
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        mAdapter.addAll(list);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void query_sendsGranularUpdatesAndNarrows() {
+        mAdapter.setQuery("1", mMatcher);
+        runTasks();
+        assertEquals(19, mAdapter.getItemCount());
+        assertEquals(100, mMatches);
+        assertFalse(mObserver.events.contains("changed"));
+        /*0被移除，1保留，2~9被移除，10~19保留...*/
+        assertEquals(Arrays.asList("remove(0,1)", "remove(1,8)"), mObserver.events.subList(0, 2));
+
+        mMatches = 0;
+        mAdapter.setQuery("11", mMatcher);
+        runTasks();
+        assertEquals(19, mMatches);
+        assertEquals(Arrays.asList(11), mAdapter.getData());
+
+        mObserver.events.clear();
+        mAdapter.clearFilter();
+        assertEquals(100, mAdapter.getItemCount());
+        assertEquals(Arrays.asList("insert(0,11)", "insert(12,88)"), mObserver.events);
+        assertFalse(mAdapter.isFiltering());
+    }
+
+    @Test
+    public void supersededFilter_isDropped() {
+        mAdapter.setFilter(data -> data % 2 == 0);
+        mAdapter.setFilter(data -> data < 10);
+        runTasks();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), mAdapter.getData());
+        assertEquals(Arrays.asList("remove(10,90)"), mObserver.events);
+        assertTrue(mAdapter.isFiltering());
+    }
+
+    @Test
+    public void mutationsWhileFiltering_reachSourceAndAreRefiltered() {
+        mAdapter.setFilter(data -> data % 2 == 0);
+        runTasks();
+        assertEquals(50, mAdapter.getItemCount());
+
+        /*加载更多追加、推送插入不符合条件的数据、删除、替换*/
+        mAdapter.add(new ArrayList<>(Arrays.asList(100, 101)));
+        mAdapter.remove(0);
+        mAdapter.update(1, 1004, null);
+        runTasks();
+
+        List<Integer> shown = mAdapter.getData();
+        assertEquals(50, shown.size());
+        assertEquals(Arrays.asList(2, 1004, 6), shown.subList(0, 3));
+        assertEquals(Integer.valueOf(100), shown.get(shown.size() - 1));
+        assertTrue(mAdapter.isFiltering());
+
+        mAdapter.clearFilter();
+        List<Integer> all = mAdapter.getData();
+        assertEquals(101, all.size());
+        assertEquals(Arrays.asList(1, 2, 3, 1004, 5), all.subList(0, 5));
+        assertEquals(Arrays.asList(99, 100, 101), all.subList(98, 101));
+    }
+
+    @Test
+    public void replaceWhileFiltering_replacesSource() {
+        mAdapter.setFilter(data -> data < 10);
+        runTasks();
+
+        mAdapter.addAll(new ArrayList<>(Arrays.asList(5, 50, 6)));
+        runTasks();
+        assertEquals(Arrays.asList(5, 6), mAdapter.getData());
+
+        mAdapter.clearFilter();
+        assertEquals(Arrays.asList(5, 50, 6), mAdapter.getData());
+    }
+
+    /**
+     * 执行后台任务和主线程消息，直到没有新的任务（同步修改后会重新过滤）
+     */
+    private void runTasks() {
+        do {
+            while (!mTasks.isEmpty()) {
+                mTasks.remove(0).run();
+            }
+            shadowOf(Looper.getMainLooper()).idle();
+        } while (!mTasks.isEmpty());
+    }
+}
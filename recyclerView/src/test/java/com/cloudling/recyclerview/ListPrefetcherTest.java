@@ -0,0 +1,142 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：滚动时预加载滚动方向上可见范围外的item，换方向或数据变化时取消离开的范围，修改时只重新预加载修改的item
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListPrefetcherTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ITEM_SIZE = 120;
+    private static final int MIN_ITEMS = 4;
+    private static final int MAX_ITEMS = 40;
+
+    private final List<int[]> mPrefetched = new ArrayList<>();
+    private final List<int[]> mCancelled = new ArrayList<>();
+    private final LayoutManagerHelper mHelper = new LayoutManagerHelper();
+    private RecyclerView mRecyclerView;
+    private RecyclerViewDelegate<Integer> mDelegate;
+
+    @Before
+    public void setUp() {
+        mRecyclerView = new RecyclerView(RuntimeEnvironment.getApplication());
+        mDelegate = new RecyclerViewDelegate<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                View view = new View(parent.getContext());
+                view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE));
+                return new TestBinding(view);
+            }
+        }, mRecyclerView).initLinear().prefetch(new IFPrefetch<Integer>() {
+            @Override
+            public void onPrefetch(int from, int to, List<Integer> items) {
+                assertEquals(to - from + 1, items.size());
+                assertEquals(Integer.valueOf(from), items.get(0));
+                mPrefetched.add(new int[]{from, to});
+            }
+
+            @Override
+            public void onCancelPrefetch(int from, int to, List<Integer> items) {
+                assertEquals(to - from + 1, items.size());
+                mCancelled.add(new int[]{from, to});
+            }
+        }, MIN_ITEMS, MAX_ITEMS).build();
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i);
+        }
+        mDelegate.addAll(list);
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void forwardScroll_prefetchesAheadAndGrowsWithVelocity() {
+        assertEquals(1, mPrefetched.size());
+        assertEquals(lastVisible() + 1, mPrefetched.get(0)[0]);
+        assertEquals(MIN_ITEMS, mPrefetched.get(0)[1] - mPrefetched.get(0)[0] + 1);
+
+        mRecyclerView.scrollBy(0, 1200);
+
+        assertTrue(mCancelled.isEmpty());
+        int[] last = mPrefetched.get(mPrefetched.size() - 1);
+        assertTrue(last[0] > lastVisible());
+        assertEquals(lastVisible() + MAX_ITEMS, last[1]);
+    }
+
+    @Test
+    public void reverseScroll_cancelsRangeThatLeftTheWindow() {
+        mRecyclerView.scrollBy(0, 1200);
+        int[] ahead = mPrefetched.get(mPrefetched.size() - 1);
+
+        mRecyclerView.scrollBy(0, -47);
+
+        assertFalse(mCancelled.isEmpty());
+        assertEquals(ahead[1], mCancelled.get(mCancelled.size() - 1)[1]);
+        int[] behind = mPrefetched.get(mPrefetched.size() - 1);
+        assertEquals(firstVisible() - 1, behind[1]);
+    }
+
+    @Test
+    public void insertBeforeRange_cancelsWholeRange() {
+        int[] range = mPrefetched.get(0);
+
+        mDelegate.add(-1, 0);
+
+        assertEquals(1, mCancelled.size());
+        assertEquals(range[0], mCancelled.get(0)[0]);
+        assertEquals(range[1], mCancelled.get(0)[1]);
+    }
+
+    @Test
+    public void changeInRange_refetchesOnlyChangedItems() {
+        int[] range = mPrefetched.get(0);
+
+        /*局部刷新不取消*/
+        mDelegate.batch(tx -> tx.update(range[0], range[0], "payload"));
+        assertTrue(mCancelled.isEmpty());
+        assertEquals(1, mPrefetched.size());
+
+        mDelegate.batch(tx -> tx.update(range[0] + 1, range[0] + 1, null));
+        assertEquals(1, mCancelled.size());
+        assertEquals(range[0] + 1, mCancelled.get(0)[0]);
+        assertEquals(range[0] + 1, mCancelled.get(0)[1]);
+        int[] refetched = mPrefetched.get(mPrefetched.size() - 1);
+        assertEquals(range[0] + 1, refetched[0]);
+        assertEquals(range[0] + 1, refetched[1]);
+    }
+
+    private int firstVisible() {
+        return mHelper.findFirstVisiblePosition(mRecyclerView.getLayoutManager());
+    }
+
+    private int lastVisible() {
+        return mHelper.findLastVisiblePosition(mRecyclerView.getLayoutManager());
+    }
+}
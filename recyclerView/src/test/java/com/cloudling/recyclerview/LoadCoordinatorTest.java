@@ -0,0 +1,120 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：异步加载调度：刷新取消加载更多、重复请求忽略、超时和指数退避重试
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LoadCoordinatorTest {
+    private final List<LoadRequest<String>> mRequests = new ArrayList<>();
+    private final List<String> mEvents = new ArrayList<>();
+    private LoadCoordinator<String> mCoordinator;
+
+    @Before
+    public void setUp() {
+        IFAsyncLoadOp<String> op = new IFAsyncLoadOp<String>() {
+            @Override
+            public void refresh(LoadRequest<String> request) {
+                mRequests.add(request);
+            }
+
+            @Override
+            public void loadMore(LoadRequest<String> request) {
+                mRequests.add(request);
+            }
+
+            @Override
+            public IFRefreshLayout getRefreshLayout() {
+                return null;
+            }
+        };
+        LoadConfig config = new LoadConfig().timeout(1_000).maxRetries(2).retryDelay(100, 1_000);
+        mCoordinator = new LoadCoordinator<>(op, config, new LoadCoordinator.Listener<String>() {
+            @Override
+            public void onLoaded(boolean refresh, List<String> items, boolean endOfData) {
+                mEvents.add((refresh ? "refresh" : "more") + items + endOfData);
+            }
+
+            @Override
+            public void onFailed(boolean refresh, Throwable error) {
+                mEvents.add((refresh ? "refresh" : "more") + " failed " + error.getClass().getSimpleName());
+            }
+        });
+    }
+
+    @Test
+    public void refresh_cancelsPendingLoadMore() {
+        assertTrue(mCoordinator.loadMore());
+        assertTrue(mCoordinator.refresh());
+        LoadRequest<String> loadMore = mRequests.get(0);
+        LoadRequest<String> refresh = mRequests.get(1);
+        assertTrue(loadMore.isCancelled());
+        assertTrue(refresh.getId() != loadMore.getId());
+
+        refresh.onResult(Arrays.asList("a", "b"), false);
+        loadMore.onResult(Collections.singletonList("stale"), true);
+
+        assertEquals(Collections.singletonList("refresh[a, b]false"), mEvents);
+        assertFalse(mCoordinator.isLoading());
+    }
+
+    @Test
+    public void duplicateRequests_areSuppressed() {
+        assertTrue(mCoordinator.refresh());
+        assertFalse(mCoordinator.refresh());
+        assertFalse(mCoordinator.loadMore());
+
+        assertEquals(1, mRequests.size());
+        assertEquals(2, mCoordinator.getSuppressedCount());
+
+        mRequests.get(0).onResult(Collections.singletonList("a"), true);
+        mRequests.get(0).onResult(Collections.singletonList("a"), true);
+        assertEquals(Collections.singletonList("refresh[a]true"), mEvents);
+    }
+
+    @Test
+    public void timeoutAndErrors_retryWithBackoffThenFail() {
+        mCoordinator.loadMore();
+        idle(1_000);
+        assertTrue(mRequests.get(0).isCancelled());
+        assertEquals(1, mRequests.size());
+        assertFalse(mCoordinator.loadMore());
+
+        idle(100);
+        assertEquals(2, mRequests.size());
+        assertEquals(1, mRequests.get(1).getAttempt());
+
+        mRequests.get(1).onError(new IllegalStateException());
+        idle(199);
+        assertEquals(2, mRequests.size());
+        idle(1);
+        assertEquals(3, mRequests.size());
+
+        mRequests.get(2).onError(new IllegalStateException());
+        assertEquals(Collections.singletonList("more failed IllegalStateException"), mEvents);
+        assertFalse(mCoordinator.isLoading());
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,179 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：上拉加载的触发距离：按数据（不含headerView、footerView）计算，按滑动速度加大，没有数据时不触发
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LoadMoreTriggerTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    /**
+     * 一屏正好16个item
+     */
+    private static final int ITEM_SIZE = 120;
+    private static final int ITEM_COUNT = 40;
+
+    @Test
+    public void prefetchDistance_countsContentOnly() {
+        RecyclerView recyclerView = newRecyclerView();
+        CountingLoadOp loadOp = new CountingLoadOp();
+        SwipeRecyclerViewDelegate<Integer> delegate = new SwipeRecyclerViewDelegate<>(loadOp, new SizedAdapter(), recyclerView)
+                .initLinear()
+                .loadMorePrefetch(5, false)
+                .build();
+        delegate.addFooterView(sizedView());
+        delegate.addAll(items(ITEM_COUNT));
+        layout(recyclerView);
+        assertEquals(0, loadOp.mLoads);
+
+        /*最后一个可见的是第33个，距离末尾6个*/
+        scrollBy(recyclerView, ITEM_SIZE * 18);
+        assertEquals(33, lastVisible(recyclerView));
+        assertEquals(0, loadOp.mLoads);
+
+        /*距离末尾5个时触发，footerView不算在距离内*/
+        scrollBy(recyclerView, ITEM_SIZE);
+        assertEquals(34, lastVisible(recyclerView));
+        assertEquals(1, loadOp.mLoads);
+
+        /*加载中不重复触发*/
+        scrollBy(recyclerView, ITEM_SIZE);
+        assertEquals(1, loadOp.mLoads);
+    }
+
+    @Test
+    public void prefetchDistance_scalesWithVelocity() {
+        RecyclerView slowView = newRecyclerView();
+        CountingLoadOp fixed = new CountingLoadOp();
+        SwipeRecyclerViewDelegate<Integer> slow = new SwipeRecyclerViewDelegate<>(fixed, new SizedAdapter(), slowView)
+                .initLinear()
+                .loadMorePrefetch(5, false)
+                .build();
+        slow.addAll(items(ITEM_COUNT));
+        layout(slowView);
+
+        RecyclerView fastView = newRecyclerView();
+        CountingLoadOp scaled = new CountingLoadOp();
+        SwipeRecyclerViewDelegate<Integer> fast = new SwipeRecyclerViewDelegate<>(scaled, new SizedAdapter(), fastView)
+                .initLinear()
+                .loadMorePrefetch(5, true)
+                .build();
+        fast.addAll(items(ITEM_COUNT));
+        layout(fastView);
+
+        /*一帧滑动5个item：按速度向前看30帧，距离末尾还有19个就触发*/
+        scrollBy(slowView, ITEM_SIZE * 5);
+        scrollBy(fastView, ITEM_SIZE * 5);
+        assertEquals(20, lastVisible(fastView));
+        assertEquals(0, fixed.mLoads);
+        assertEquals(1, scaled.mLoads);
+    }
+
+    @Test
+    public void emptyList_doesNotLoadMore() {
+        RecyclerView recyclerView = newRecyclerView();
+        CountingLoadOp loadOp = new CountingLoadOp();
+        SwipeRecyclerViewDelegate<Integer> delegate = new SwipeRecyclerViewDelegate<>(loadOp, new SizedAdapter(), recyclerView)
+                .initLinear()
+                .build();
+        /*只有headerView、footerView时布局后的onScrolled(0, 0)不触发*/
+        delegate.addHeaderView(sizedView());
+        delegate.addFooterView(sizedView());
+        layout(recyclerView);
+        assertEquals(0, loadOp.mLoads);
+
+        /*有了数据后（内容不满一屏）布局时触发*/
+        delegate.addAll(items(3));
+        layout(recyclerView);
+        assertEquals(1, loadOp.mLoads);
+    }
+
+    private static int lastVisible(RecyclerView recyclerView) {
+        return new LayoutManagerHelper().findLastVisiblePosition(recyclerView.getLayoutManager());
+    }
+
+    private static void scrollBy(RecyclerView recyclerView, int dy) {
+        recyclerView.scrollBy(0, dy);
+        layout(recyclerView);
+    }
+
+    private static RecyclerView newRecyclerView() {
+        return new RecyclerView(RuntimeEnvironment.getApplication());
+    }
+
+    private static View sizedView() {
+        View view = new View(RuntimeEnvironment.getApplication());
+        view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE));
+        return view;
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static ArrayList<Integer> items(int count) {
+        ArrayList<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static class SizedAdapter implements IFAdapter<Integer> {
+        @Override
+        public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+        }
+
+        @Override
+        public ViewDataBinding createView(ViewGroup parent, int type) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE));
+            return new TestBinding(view);
+        }
+    }
+
+    private static class CountingLoadOp implements IFLoadOp {
+        int mLoads;
+
+        @Override
+        public void onRefresh() {
+        }
+
+        @Override
+        public void onLoadMore() {
+            mLoads++;
+        }
+
+        @Override
+        public IFRefreshLayout getRefreshLayout() {
+            return new IFRefreshLayout() {
+                @Override
+                public void setOnRefreshListener(OnRefreshListener listener) {
+                }
+
+                @Override
+                public void finishRefresh() {
+                }
+            };
+        }
+    }
+}
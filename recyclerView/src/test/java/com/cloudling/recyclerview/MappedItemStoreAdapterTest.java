@@ -0,0 +1,116 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 描述：MappedItemStore作为适配器的容器时，addSorted批量插入、removeIf按段删除直接写入容器；
+ * 会整体重写容器的submitList、过滤、重新排序直接报错
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MappedItemStoreAdapterTest {
+    private static final IFItemSerializer<Integer> SERIALIZER = new IFItemSerializer<Integer>() {
+        @Override
+        public byte[] serialize(Integer item) {
+            return ByteBuffer.allocate(4).putInt(item).array();
+        }
+
+        @Override
+        public Integer deserialize(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private MappedItemStore<Integer> mStore;
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() throws Exception {
+        mStore = new MappedItemStore<>(folder.newFile("items"), SERIALIZER);
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        mAdapter.setBackingList(mStore);
+        mAdapter.addAll(new ArrayList<>(Arrays.asList(10, 20, 30, 40, 50)));
+        mAdapter.setComparator(Integer::compare);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mStore.close();
+    }
+
+    @Test
+    public void bulkAddSorted_insertsIntoStore() {
+        mAdapter.addSorted(Arrays.asList(12, 11, 41, 42, 43, 1));
+        assertEquals(Arrays.asList(1, 10, 11, 12, 20, 30, 40, 41, 42, 43, 50), mStore);
+        assertEquals(Arrays.asList("insert(0,1)", "insert(2,2)", "insert(7,3)"), mObserver.events);
+    }
+
+    @Test
+    public void submitListAndFilter_failFast() {
+        try {
+            mAdapter.submitList(Collections.singletonList(1));
+            fail("submitList on a MappedItemStore");
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            mAdapter.setFilter(item -> item > 20);
+            fail("setFilter on a MappedItemStore");
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            mAdapter.setQuery("1", (item, query) -> true);
+            fail("setQuery on a MappedItemStore");
+        } catch (IllegalStateException expected) {
+        }
+        try {
+            mAdapter.setComparator((a, b) -> Integer.compare(b, a));
+            fail("re-sorting a MappedItemStore");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50), mAdapter.getData());
+        assertEquals(Collections.emptyList(), mObserver.events);
+        /*原来的排序仍然有效*/
+        mAdapter.addSorted(Collections.singletonList(25));
+        assertEquals(Arrays.asList(10, 20, 25, 30, 40, 50), mStore);
+    }
+
+    @Test
+    public void removeIf_removesRunsFromStore() {
+        assertEquals(3, mAdapter.removeIf(item -> item == 20 || item == 30 || item == 50));
+        assertEquals(Arrays.asList(10, 40), mStore);
+        assertEquals(Arrays.asList("remove(4,1)", "remove(1,2)"), mObserver.events);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cloudling.recyclerview;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 描述：MappedItemStore随机增删改后和ArrayList保持一致，数据跨段、索引扩容后仍能正确读取
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class MappedItemStoreTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final IFItemSerializer<String> SERIALIZER = new IFItemSerializer<String>() {
+        @Override
+        public byte[] serialize(String item) {
+            return item.getBytes(UTF_8);
+        }
+
+        @Override
+        public String deserialize(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new String(bytes, UTF_8);
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void randomOperations_matchArrayList() throws Exception {
+        File file = folder.newFile("items");
+        /*小的段和缓存，让数据跨段、缓存频繁失效*/
+        MappedItemStore<String> store = new MappedItemStore<>(file, SERIALIZER, 8, 4096);
+        List<String> reference = new ArrayList<>();
+        Random random = new Random(7);
+        for (int round = 0; round < 20_000; round++) {
+            int size = reference.size();
+            int op = random.nextInt(6);
+            String item = "item-" + round;
+            if (op == 0 || size == 0) {
+                int index = random.nextInt(size + 1);
+                store.add(index, item);
+                reference.add(index, item);
+            } else if (op == 1) {
+                int index = random.nextInt(size);
+                assertEquals(reference.remove(index), store.remove(index));
+            } else if (op == 2) {
+                int index = random.nextInt(size);
+                /*set不读取旧数据*/
+                assertNull(store.set(index, item));
+                reference.set(index, item);
+            } else if (op == 3) {
+                int index = random.nextInt(size + 1);
+                List<String> items = Arrays.asList(item + "a", null, item + "c");
+                store.addAll(index, items);
+                reference.addAll(index, items);
+            } else if (op == 4) {
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(4));
+                store.subList(from, to).clear();
+                reference.subList(from, to).clear();
+            } else {
+                store.add(item);
+                reference.add(item);
+            }
+            int index = random.nextInt(reference.size() + 1) - 1;
+            if (index >= 0) {
+                assertEquals(reference.get(index), store.get(index));
+            }
+        }
+        assertEquals(reference, store);
+        store.clear();
+        assertEquals(0, store.size());
+        store.add("again");
+        assertEquals("again", store.get(0));
+        store.close();
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void largeAppend() throws Exception {
+        MappedItemStore<String> store = new MappedItemStore<>(folder.newFile("large"), SERIALIZER);
+        ArrayList<String> chunk = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            chunk.add("row " + i);
+            if (chunk.size() == 10_000) {
+                store.addAll(chunk);
+                chunk.clear();
+            }
+        }
+        store.add(null);
+        assertEquals(200_001, store.size());
+        assertEquals("row 0", store.get(0));
+        assertEquals("row 123456", store.get(123_456));
+        assertEquals("row 199999", store.get(199_999));
+        assertNull(store.get(200_000));
+        store.close();
+    }
+}
@@ -0,0 +1,205 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：下拉刷新合并第一页：头部按key比对只通知差异，后面已加载的页保留；
+ * 头部之后相同的item只移走这一个，完全接不上时替换全部数据并返回MERGE_REPLACED_ALL
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MergeHeadTest {
+    private RecyclerViewAdapter<String> mAdapter;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() {
+        /*数据格式为"key:内容"*/
+        mAdapter = new RecyclerViewAdapter<>(new IFKeyAdapter<String>() {
+            @Override
+            public long getItemKey(String data) {
+                return Long.parseLong(data.substring(0, data.indexOf(':')));
+            }
+
+            @Override
+            public void updateView(String data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<String> pages = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            pages.add(i + ":a");
+        }
+        mAdapter.add(pages);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void overlappingFirstPage_onlyHeadChangesAndDeeperPagesStay() {
+        int replaced = mAdapter.mergeHead(Arrays.asList("0:a", "1:a", "2:b", "4:a", "5:a"));
+
+        assertEquals(5, replaced);
+        assertEquals(50, mAdapter.getItemCount());
+        assertEquals(Arrays.asList("0:a", "1:a", "2:b", "4:a", "5:a", "6:a"), mAdapter.getData().subList(0, 6));
+        assertEquals("50:a", mAdapter.getData().get(49));
+        assertTrue(mObserver.events.contains("insert(0,1)"));
+        for (String event : mObserver.events) {
+            assertTrue(event, !event.equals("changed"));
+            int position = Integer.parseInt(event.substring(event.indexOf('(') + 1, event.indexOf(',')));
+            assertTrue(event, position < 6);
+        }
+    }
+
+    @Test
+    public void unchangedFirstPage_dispatchesNothing() {
+        mAdapter.mergeHead(Arrays.asList("1:a", "2:a", "3:a", "4:a", "5:a"));
+
+        assertEquals(50, mAdapter.getItemCount());
+        assertEquals(Collections.emptyList(), mObserver.events);
+    }
+
+    @Test
+    public void bumpedDeepItem_onlyMovesThatRow() {
+        /*45被顶到第一页，第一页之后的数据都保留，只把45从原来的位置移走*/
+        int replaced = mAdapter.mergeHead(Arrays.asList("0:new", "45:a"));
+
+        assertEquals(0, replaced);
+        assertEquals(51, mAdapter.getItemCount());
+        assertEquals(Arrays.asList("0:new", "45:a", "1:a", "2:a"), mAdapter.getData().subList(0, 4));
+        assertEquals(Arrays.asList("44:a", "46:a"), mAdapter.getData().subList(45, 47));
+        assertEquals(Arrays.asList("remove(44,1)", "insert(0,2)"), mObserver.events);
+    }
+
+    @Test
+    public void bumpedDeepItem_withHeadOverlap() {
+        int replaced = mAdapter.mergeHead(Arrays.asList("45:b", "1:a", "2:a"));
+
+        assertEquals(2, replaced);
+        assertEquals(50, mAdapter.getItemCount());
+        assertEquals(Arrays.asList("45:b", "1:a", "2:a", "3:a"), mAdapter.getData().subList(0, 4));
+        assertEquals(Arrays.asList("44:a", "46:a"), mAdapter.getData().subList(44, 46));
+        assertEquals(Arrays.asList("remove(44,1)", "insert(0,1)"), mObserver.events);
+    }
+
+    @Test
+    public void deepOverlap_keepsDeeperPages() {
+        /*新的第一页和开头之间隔了超过一页，不再当成头部：只移走相同的item，前面的数据不删除*/
+        int replaced = mAdapter.mergeHead(Arrays.asList("45:a", "46:b"));
+
+        assertEquals(0, replaced);
+        assertEquals(50, mAdapter.getItemCount());
+        assertEquals(Arrays.asList("45:a", "46:b", "1:a"), mAdapter.getData().subList(0, 3));
+        assertEquals(Arrays.asList("44:a", "47:a"), mAdapter.getData().subList(45, 47));
+        assertEquals(Arrays.asList("remove(44,2)", "insert(0,2)"), mObserver.events);
+    }
+
+    @Test
+    public void backgroundThread_isRejected() throws Exception {
+        final Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                mAdapter.mergeHead(Collections.singletonList("1:b"));
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(error[0] instanceof IllegalStateException);
+        assertEquals("1:a", mAdapter.getData().get(0));
+    }
+
+    @Test
+    public void noOverlap_replacesEverything() {
+        int replaced = mAdapter.mergeHead(Collections.singletonList("100:a"));
+
+        assertEquals(RecyclerViewAdapter.MERGE_REPLACED_ALL, replaced);
+        assertEquals(Collections.singletonList("100:a"), mAdapter.getData());
+        assertEquals(Arrays.asList("remove(0,50)", "insert(0,1)"), mObserver.events);
+    }
+
+    @Test
+    public void replacedAll_resetsHasMore() {
+        final int[] loads = new int[1];
+        IFLoadOp loadOp = new IFLoadOp() {
+            @Override
+            public void onRefresh() {
+            }
+
+            @Override
+            public void onLoadMore() {
+                loads[0]++;
+            }
+
+            @Override
+            public IFRefreshLayout getRefreshLayout() {
+                return new IFRefreshLayout() {
+                    @Override
+                    public void setOnRefreshListener(OnRefreshListener listener) {
+                    }
+
+                    @Override
+                    public void finishRefresh() {
+                    }
+                };
+            }
+        };
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.getApplication());
+        SwipeRecyclerViewDelegate<String> delegate = new SwipeRecyclerViewDelegate<>(loadOp, new IFKeyAdapter<String>() {
+            @Override
+            public long getItemKey(String data) {
+                return Long.parseLong(data.substring(0, data.indexOf(':')));
+            }
+
+            @Override
+            public void updateView(String data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                View view = new View(parent.getContext());
+                view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 100));
+                return new TestBinding(view);
+            }
+        }, recyclerView).initLinear().build();
+        delegate.add(new ArrayList<>(Arrays.asList("1:a", "2:a", "3:a")));
+        delegate.hasNoMore();
+        layout(recyclerView);
+        assertEquals(0, loads[0]);
+
+        /*后面的页被替换掉后可以重新加载更多（内容不满一屏，布局后触发）*/
+        assertEquals(RecyclerViewAdapter.MERGE_REPLACED_ALL, delegate.mergeRefresh(Arrays.asList("7:a", "8:a")));
+        layout(recyclerView);
+        assertEquals(1, loads[0]);
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, 1080, 1920);
+    }
+}
@@ -0,0 +1,205 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 描述：分页加载：加载的页替换占位并追加下一页的占位，超出内存页数时最远的页换回占位，
+ * 刷新前发出的（过期的）和重复的加载结果被丢弃
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagedLoaderTest {
+    private static final int PAGE_SIZE = 10;
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+    private FakePageSource mSource;
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        /*和SwipeRecyclerViewDelegate一样，占位不占用内存*/
+        mAdapter.setBackingList(new SparseItemList<Integer>());
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+        mSource = new FakePageSource();
+    }
+
+    @Test
+    public void loadedPages_replacePlaceholders() {
+        PagedLoader<Integer> loader = newLoader(10);
+        loader.refresh();
+        assertEquals(Collections.singletonList(0), mSource.requestedPages());
+
+        /*第一页加上第二页的占位*/
+        mSource.latest(0).succeed(PAGE_SIZE, false);
+        assertEquals(Collections.singletonList("insert(0,20)"), mObserver.events);
+        assertEquals(Integer.valueOf(9), mAdapter.getData().get(9));
+        assertNull(mAdapter.getData().get(10));
+
+        /*滚动到占位页时才加载，加载后原位刷新并追加下一页的占位*/
+        mObserver.events.clear();
+        loader.onVisibleRangeChanged(12, 15);
+        assertEquals(Arrays.asList(0, 1), mSource.requestedPages());
+        mSource.latest(1).succeed(PAGE_SIZE, false);
+        assertEquals(Arrays.asList("change(10,10)", "insert(20,10)"), mObserver.events);
+        assertEquals(Integer.valueOf(10), mAdapter.getData().get(10));
+        assertEquals(30, mAdapter.getItemCount());
+
+        /*不足一页的最后一页：多出的占位被移除*/
+        mObserver.events.clear();
+        loader.onVisibleRangeChanged(22, 25);
+        mSource.latest(2).succeed(5, true);
+        assertEquals(Arrays.asList("change(20,5)", "remove(25,5)"), mObserver.events);
+        assertEquals(25, mAdapter.getItemCount());
+    }
+
+    @Test
+    public void farPages_areEvictedAndReloaded() {
+        PagedLoader<Integer> loader = newLoader(2);
+        loader.refresh();
+        mSource.latest(0).succeed(PAGE_SIZE, false);
+        loader.onVisibleRangeChanged(12, 15);
+        mSource.latest(1).succeed(PAGE_SIZE, false);
+
+        /*第三页加载后超出2页，最远的第一页换回占位*/
+        mObserver.events.clear();
+        loader.onVisibleRangeChanged(22, 25);
+        mSource.latest(2).succeed(PAGE_SIZE, false);
+        assertEquals(Arrays.asList("change(20,10)", "insert(30,10)", "change(0,10)"), mObserver.events);
+        assertNull(mAdapter.getData().get(0));
+        assertEquals(Integer.valueOf(10), mAdapter.getData().get(10));
+
+        /*滚动回来时重新加载第一页，最远的第三页被释放*/
+        mObserver.events.clear();
+        loader.onVisibleRangeChanged(2, 5);
+        assertEquals(Arrays.asList(0, 1, 2, 0), mSource.requestedPages());
+        mSource.latest(0).succeed(PAGE_SIZE, false);
+        assertEquals(Arrays.asList("change(0,10)", "change(20,10)"), mObserver.events);
+        assertEquals(Integer.valueOf(0), mAdapter.getData().get(0));
+        assertNull(mAdapter.getData().get(20));
+        assertEquals(40, mAdapter.getItemCount());
+    }
+
+    @Test
+    public void staleResults_areDropped() {
+        PagedLoader<Integer> loader = newLoader(10);
+        loader.refresh();
+        Request firstPage = mSource.latest(0);
+        firstPage.succeed(PAGE_SIZE, false);
+        loader.onVisibleRangeChanged(12, 15);
+        Request secondPage = mSource.latest(1);
+
+        mObserver.events.clear();
+        loader.refresh();
+        assertEquals(Collections.singletonList("changed"), mObserver.events);
+        Request refreshedPage = mSource.latest(0);
+
+        /*刷新前发出的请求晚于刷新返回，结果不再使用*/
+        mObserver.events.clear();
+        secondPage.succeed(PAGE_SIZE, false);
+        secondPage.fail();
+        firstPage.succeed(PAGE_SIZE, false);
+        assertEquals(Collections.<String>emptyList(), mObserver.events);
+        assertEquals(0, mAdapter.getItemCount());
+
+        refreshedPage.succeed(PAGE_SIZE, false);
+        assertEquals(Collections.singletonList("insert(0,20)"), mObserver.events);
+
+        /*同一个请求重复回调只生效一次*/
+        mObserver.events.clear();
+        refreshedPage.succeed(PAGE_SIZE, false);
+        assertEquals(Collections.<String>emptyList(), mObserver.events);
+        assertEquals(20, mAdapter.getItemCount());
+    }
+
+    @Test
+    public void failedPage_isRequestedAgainWhenVisible() {
+        PagedLoader<Integer> loader = newLoader(10);
+        loader.refresh();
+        mSource.latest(0).fail();
+        assertEquals(0, mAdapter.getItemCount());
+
+        loader.onVisibleRangeChanged(0, 0);
+        assertEquals(Arrays.asList(0, 0), mSource.requestedPages());
+        mSource.latest(0).succeed(3, true);
+        assertEquals(Collections.singletonList("insert(0,3)"), mObserver.events);
+    }
+
+    private PagedLoader<Integer> newLoader(int maxResidentPages) {
+        PagingConfig config = new PagingConfig().pageSize(PAGE_SIZE).prefetchDistance(0).maxResidentPages(maxResidentPages);
+        return new PagedLoader<>(mAdapter, mSource, config);
+    }
+
+    private static class FakePageSource implements IFPageSource<Integer> {
+        final List<Request> mRequests = new ArrayList<>();
+
+        @Override
+        public void loadPage(int page, int pageSize, Callback<Integer> callback) {
+            mRequests.add(new Request(page, callback));
+        }
+
+        List<Integer> requestedPages() {
+            List<Integer> pages = new ArrayList<>();
+            for (Request request : mRequests) {
+                pages.add(request.mPage);
+            }
+            return pages;
+        }
+
+        Request latest(int page) {
+            for (int i = mRequests.size() - 1; i >= 0; i--) {
+                if (mRequests.get(i).mPage == page) {
+                    return mRequests.get(i);
+                }
+            }
+            throw new AssertionError("page " + page + " was not requested");
+        }
+    }
+
+    private static class Request {
+        final int mPage;
+        final IFPageSource.Callback<Integer> mCallback;
+
+        Request(int page, IFPageSource.Callback<Integer> callback) {
+            this.mPage = page;
+            this.mCallback = callback;
+        }
+
+        void succeed(int count, boolean endOfData) {
+            List<Integer> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(mPage * PAGE_SIZE + i);
+            }
+            mCallback.onResult(items, endOfData);
+        }
+
+        void fail() {
+            mCallback.onError(new RuntimeException("page " + mPage));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：主线程空闲时创建到指定个数就停止，onCreateViewHolder先用缓存的ViewDataBinding，用完后再同步创建
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PreInflateCacheTest {
+    private static final int TYPE_TEXT = 1;
+    private static final int TYPE_IMAGE = 2;
+
+    @Test
+    public void idleInflation_stopsAtTargetAndIsConsumedFirst() {
+        final List<View> created = new ArrayList<>();
+        IFTypeAdapter<Integer> ifAdapter = new IFTypeAdapter<Integer>() {
+            @Override
+            public int getItemViewType(int position) {
+                return TYPE_TEXT;
+            }
+
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                View view = new View(parent.getContext());
+                created.add(view);
+                return new TestBinding(view);
+            }
+        };
+        FrameLayout parent = new FrameLayout(RuntimeEnvironment.getApplication());
+        PreInflateCache cache = new PreInflateCache(ifAdapter, parent);
+        cache.preInflate(TYPE_TEXT, 3);
+        cache.preInflate(TYPE_IMAGE, 1);
+        /*还没空闲时不创建*/
+        assertEquals(0, created.size());
+
+        /*每次空闲只创建一个，多出来的空闲不再创建*/
+        for (int i = 0; i < 10; i++) {
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        assertEquals(4, created.size());
+        assertEquals(3, cache.getCachedCount(TYPE_TEXT));
+        assertEquals(1, cache.getCachedCount(TYPE_IMAGE));
+
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(ifAdapter);
+        adapter.setPreInflateCache(cache);
+        List<View> preInflated = new ArrayList<>(created);
+        for (int i = 0; i < 3; i++) {
+            assertSame(preInflated.get(i), adapter.onCreateViewHolder(parent, TYPE_TEXT).itemView);
+        }
+        assertEquals(0, cache.getCachedCount(TYPE_TEXT));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+
+        /*缓存用完后同步创建*/
+        View view = adapter.onCreateViewHolder(parent, TYPE_TEXT).itemView;
+        assertEquals(5, created.size());
+        assertSame(created.get(4), view);
+        assertFalse(preInflated.contains(view));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getCachedCount(TYPE_IMAGE));
+    }
+
+    @Test
+    public void clear_stopsPendingInflation() {
+        final int[] creates = new int[1];
+        PreInflateCache cache = new PreInflateCache(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                creates[0]++;
+                return new TestBinding(new View(parent.getContext()));
+            }
+        }, new FrameLayout(RuntimeEnvironment.getApplication()));
+        cache.preInflate(TYPE_TEXT, 5);
+        cache.clear();
+        for (int i = 0; i < 10; i++) {
+            shadowOf(Looper.getMainLooper()).idle();
+        }
+        assertEquals(0, creates[0]);
+        assertEquals(0, cache.getCachedCount(TYPE_TEXT));
+    }
+}
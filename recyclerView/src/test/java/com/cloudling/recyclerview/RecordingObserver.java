@@ -0,0 +1,45 @@
+package com.cloudling.recyclerview;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述：单元测试用，按顺序记录适配器发出的每一次通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class RecordingObserver extends RecyclerView.AdapterDataObserver {
+    public final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onChanged() {
+        events.add("changed");
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        events.add("change(" + positionStart + "," + itemCount + ")");
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        events.add("change(" + positionStart + "," + itemCount + (payload == null ? "" : "," + payload) + ")");
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        events.add("insert(" + positionStart + "," + itemCount + ")");
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        events.add("remove(" + positionStart + "," + itemCount + ")");
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        events.add("move(" + fromPosition + "," + toPosition + ")");
+    }
+}
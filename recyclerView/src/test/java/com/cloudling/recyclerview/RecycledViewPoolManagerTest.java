@@ -0,0 +1,73 @@
+package com.cloudling.recyclerview;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 描述：共享缓存池只在同一个Activity中共享，Activity销毁时清空并移除
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RecycledViewPoolManagerTest {
+    private static final Object KEY = RecycledViewPoolManagerTest.class;
+
+    @Test
+    public void destroyedActivity_poolIsEmptiedAndDropped() {
+        RecycledViewPoolManager manager = RecycledViewPoolManager.getInstance();
+        ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).setup();
+        Activity activity = controller.get();
+        RecyclerView.RecycledViewPool pool = manager.obtain(activity, KEY);
+        assertSame(pool, manager.obtain(activity, KEY));
+
+        pool.putRecycledView(newViewHolder(activity));
+        assertEquals(1, pool.getRecycledViewCount(0));
+
+        controller.pause().stop().destroy();
+
+        assertEquals(0, pool.getRecycledViewCount(0));
+        assertNotSame(pool, manager.obtain(activity, KEY));
+        manager.release(activity);
+    }
+
+    @Test
+    public void differentActivities_doNotSharePools() {
+        RecycledViewPoolManager manager = RecycledViewPoolManager.getInstance();
+        ActivityController<Activity> first = Robolectric.buildActivity(Activity.class).setup();
+        ActivityController<Activity> second = Robolectric.buildActivity(Activity.class).setup();
+
+        assertNotSame(manager.obtain(first.get(), KEY), manager.obtain(second.get(), KEY));
+
+        first.pause().stop().destroy();
+        second.pause().stop().destroy();
+    }
+
+    private static RecyclerView.ViewHolder newViewHolder(Activity activity) {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return new TestBinding(new View(parent.getContext()));
+            }
+        });
+        return adapter.createViewHolder(new FrameLayout(activity), 0);
+    }
+}
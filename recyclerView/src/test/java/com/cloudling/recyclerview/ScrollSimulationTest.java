@@ -0,0 +1,209 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：用Robolectric把整个列表从头滑到尾，限制createView、updateView的次数和整体刷新（onChanged）的次数。
+ * 重新出现整体刷新或者滑动时多余的创建/绑定都会让测试失败
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollSimulationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ITEM_SIZE = 120;
+    private static final int ITEM_COUNT = 2000;
+    private static final int STEP = 47;
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    public void linear() {
+        CountingAdapter adapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE);
+        RecyclerView recyclerView = newRecyclerView();
+        RecyclerViewDelegate<Integer> delegate = new RecyclerViewDelegate<>(adapter, recyclerView).initLinear().build();
+        delegate.addAll(items(ITEM_COUNT));
+        assertScrollCost(recyclerView, adapter, true, 1);
+    }
+
+    @Test
+    public void grid() {
+        CountingAdapter adapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE);
+        RecyclerView recyclerView = newRecyclerView();
+        RecyclerViewDelegate<Integer> delegate = new RecyclerViewDelegate<>(adapter, recyclerView).initGrid(3).build();
+        delegate.addAll(items(ITEM_COUNT));
+        assertScrollCost(recyclerView, adapter, true, 3);
+    }
+
+    @Test
+    public void staggeredGrid() {
+        CountingAdapter adapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE);
+        RecyclerView recyclerView = newRecyclerView();
+        RecyclerViewDelegate<Integer> delegate = new RecyclerViewDelegate<>(adapter, recyclerView)
+                .initStaggeredGrid(2, StaggeredGridLayoutManager.VERTICAL).build();
+        delegate.addAll(items(ITEM_COUNT));
+        assertScrollCost(recyclerView, adapter, true, 2);
+    }
+
+    @Test
+    public void paging() {
+        CountingAdapter adapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
+        RecyclerView recyclerView = newRecyclerView();
+        RecyclerViewDelegate<Integer> delegate = new RecyclerViewDelegate<>(adapter, recyclerView)
+                .initPaging(RecyclerView.HORIZONTAL).build();
+        delegate.addAll(items(200));
+        assertScrollCost(recyclerView, adapter, false, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void swipeLoadMore() {
+        CountingAdapter adapter = new CountingAdapter(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE);
+        RecyclerView recyclerView = newRecyclerView();
+        final int[] loads = new int[1];
+        final SwipeRecyclerViewDelegate<Integer>[] holder = new SwipeRecyclerViewDelegate[1];
+        IFLoadOp loadOp = new IFLoadOp() {
+            @Override
+            public void onRefresh() {
+            }
+
+            @Override
+            public void onLoadMore() {
+                loads[0]++;
+                SwipeRecyclerViewDelegate<Integer> delegate = holder[0];
+                if (delegate.getContentItemCount() + PAGE_SIZE >= ITEM_COUNT) {
+                    delegate.add(items(delegate.getContentItemCount(), ITEM_COUNT - delegate.getContentItemCount()));
+                    delegate.hasNoMore();
+                } else {
+                    delegate.add(items(delegate.getContentItemCount(), PAGE_SIZE));
+                    delegate.reset();
+                }
+            }
+
+            @Override
+            public IFRefreshLayout getRefreshLayout() {
+                return new IFRefreshLayout() {
+                    @Override
+                    public void setOnRefreshListener(OnRefreshListener listener) {
+                    }
+
+                    @Override
+                    public void finishRefresh() {
+                    }
+                };
+            }
+        };
+        holder[0] = new SwipeRecyclerViewDelegate<>(loadOp, adapter, recyclerView).initLinear().build();
+        holder[0].addAll(items(PAGE_SIZE));
+        assertScrollCost(recyclerView, adapter, true, 1);
+        assertEquals(ITEM_COUNT, holder[0].getContentItemCount());
+        assertTrue("loads: " + loads[0], loads[0] >= (ITEM_COUNT - PAGE_SIZE) / PAGE_SIZE);
+    }
+
+    /**
+     * 从头滑到尾并检查次数
+     *
+     * @param spanCount 一行（列）的item数
+     */
+    private static void assertScrollCost(RecyclerView recyclerView, CountingAdapter adapter, boolean vertical, int spanCount) {
+        layout(recyclerView);
+        LayoutManagerHelper helper = new LayoutManagerHelper();
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int visible = helper.findLastVisiblePosition(layoutManager) - helper.findFirstVisiblePosition(layoutManager) + 1;
+        assertTrue("nothing laid out", visible > 0);
+
+        ChangeCounter changes = new ChangeCounter();
+        recyclerView.getAdapter().registerAdapterDataObserver(changes);
+        int steps = 0;
+        while (helper.findLastVisiblePosition(layoutManager) < recyclerView.getAdapter().getItemCount() - 1) {
+            if (vertical) {
+                recyclerView.scrollBy(0, STEP);
+            } else {
+                recyclerView.scrollBy(STEP, 0);
+            }
+            /*加载更多插入的数据在下一次布局时生效*/
+            layout(recyclerView);
+            assertTrue("scroll did not reach the end", ++steps < 1_000_000);
+        }
+        int seen = recyclerView.getAdapter().getItemCount();
+
+        assertEquals("full invalidations while scrolling", 0, changes.mChanged);
+        /*创建数只和一屏的数量有关：一屏 + 缓存（mCachedViews默认2个）+ 两端露出一部分的行和进入缓存池前新进入的一行*/
+        int maxCreates = visible + 2 + 3 * spanCount;
+        assertTrue("createView " + adapter.mCreates + " > " + maxCreates, adapter.mCreates <= maxCreates);
+        /*只往前滑，每个item进入屏幕时绑定一次，留一屏的余量*/
+        int maxBinds = seen + visible;
+        assertTrue("updateView " + adapter.mBinds + " > " + maxBinds + " for " + seen + " items", adapter.mBinds <= maxBinds);
+    }
+
+    private static RecyclerView newRecyclerView() {
+        return new RecyclerView(RuntimeEnvironment.getApplication());
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static ArrayList<Integer> items(int count) {
+        return items(0, count);
+    }
+
+    private static ArrayList<Integer> items(int start, int count) {
+        ArrayList<Integer> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(start + i);
+        }
+        return list;
+    }
+
+    private static class CountingAdapter implements IFAdapter<Integer> {
+        private final int mWidth;
+        private final int mHeight;
+        int mCreates;
+        int mBinds;
+
+        CountingAdapter(int width, int height) {
+            this.mWidth = width;
+            this.mHeight = height;
+        }
+
+        @Override
+        public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            mBinds++;
+        }
+
+        @Override
+        public ViewDataBinding createView(ViewGroup parent, int type) {
+            mCreates++;
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new ViewGroup.LayoutParams(mWidth, mHeight));
+            return new TestBinding(view);
+        }
+    }
+
+    private static class ChangeCounter extends RecyclerView.AdapterDataObserver {
+        int mChanged;
+
+        @Override
+        public void onChanged() {
+            mChanged++;
+        }
+    }
+}
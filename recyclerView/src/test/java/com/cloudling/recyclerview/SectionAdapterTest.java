@@ -0,0 +1,204 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 描述：SectionAdapter的位置映射、viewType隔离、稳定id映射、通知偏移，以及HeadRecyclerAdapter.setAdapter不再重复通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SectionAdapterTest {
+
+    @Test
+    public void positionsMapThroughPrefixSums() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        RecyclerViewAdapter<Integer> banner = newAdapter(1);
+        RecyclerViewAdapter<Integer> empty = newAdapter(0);
+        RecyclerViewAdapter<Integer> feed = newAdapter(10);
+        sectionAdapter.addSection(banner);
+        sectionAdapter.addSection(empty);
+        sectionAdapter.addSection(feed);
+
+        assertEquals(11, sectionAdapter.getItemCount());
+        assertEquals(0, sectionAdapter.findSectionIndex(0));
+        assertEquals(2, sectionAdapter.findSectionIndex(1));
+        assertEquals(2, sectionAdapter.findSectionIndex(10));
+        assertEquals(9, sectionAdapter.getLocalPosition(10));
+        assertEquals(1, sectionAdapter.getSectionOffset(2));
+    }
+
+    @Test
+    public void viewTypesAreIsolated() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        sectionAdapter.addSection(newAdapter(2));
+        sectionAdapter.addSection(newAdapter(2));
+        /*两段的段内viewType都是0*/
+        assertEquals(sectionAdapter.getItemViewType(0), sectionAdapter.getItemViewType(1));
+        assertTrue(sectionAdapter.getItemViewType(1) != sectionAdapter.getItemViewType(2));
+    }
+
+    @Test
+    public void notificationsAreOffset() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        RecyclerViewAdapter<Integer> banner = newAdapter(3);
+        RecyclerViewAdapter<Integer> feed = newAdapter(5);
+        sectionAdapter.addSection(banner);
+        sectionAdapter.addSection(feed);
+        RecordingObserver observer = new RecordingObserver();
+        sectionAdapter.registerAdapterDataObserver(observer);
+
+        feed.add(100, 2);
+        banner.remove(0);
+        feed.move(0, 4);
+        feed.update(1, 7, "p");
+        banner.addAll(new ArrayList<>(Arrays.asList(1, 2, 3, 4)));
+        feed.clear();
+
+        assertEquals(Arrays.asList(
+                "insert(5,1)",
+                "remove(0,1)",
+                "move(2,6)",
+                "change(3,1,p)",
+                /*一段整体刷新只影响这一段*/
+                "change(0,2)", "insert(2,2)",
+                "remove(4,6)"), observer.events);
+        assertEquals(4, sectionAdapter.getItemCount());
+    }
+
+    @Test
+    public void removedSectionStopsForwarding() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        RecyclerViewAdapter<Integer> banner = newAdapter(3);
+        RecyclerViewAdapter<Integer> feed = newAdapter(5);
+        sectionAdapter.addSection(banner);
+        sectionAdapter.addSection(feed);
+        RecordingObserver observer = new RecordingObserver();
+        sectionAdapter.registerAdapterDataObserver(observer);
+
+        assertTrue(sectionAdapter.removeSection(banner));
+        banner.remove(0);
+
+        assertEquals(Collections.singletonList("remove(0,3)"), observer.events);
+        assertEquals(5, sectionAdapter.getItemCount());
+    }
+
+    @Test
+    public void headAdapterSetAdapter_unregistersOldAdapter() {
+        RecyclerViewAdapter<Integer> first = newAdapter(3);
+        RecyclerViewAdapter<Integer> second = newAdapter(3);
+        HeadRecyclerAdapter headAdapter = new HeadRecyclerAdapter(first);
+        headAdapter.setAdapter(second);
+        headAdapter.setAdapter(second);
+        RecordingObserver observer = new RecordingObserver();
+        headAdapter.registerAdapterDataObserver(observer);
+
+        first.remove(0);
+        second.remove(0);
+
+        assertEquals(Collections.singletonList("remove(0,1)"), observer.events);
+    }
+
+    @Test
+    public void stableIdsAreForwardedPerSection() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        RecyclerViewAdapter<Integer> banner = newKeyAdapter(2);
+        RecyclerViewAdapter<Integer> feed = newKeyAdapter(3);
+        sectionAdapter.addSection(banner);
+        sectionAdapter.addSection(feed);
+        assertTrue(sectionAdapter.hasStableIds());
+
+        /*两段的key都从0开始，映射后不冲突，同一个item的id不随位置变化*/
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < sectionAdapter.getItemCount(); i++) {
+            ids.add(sectionAdapter.getItemId(i));
+        }
+        assertEquals(5, ids.size());
+        long firstFeedId = sectionAdapter.getItemId(2);
+        banner.remove(0);
+        assertEquals(firstFeedId, sectionAdapter.getItemId(1));
+        assertEquals(0, sectionAdapter.getItemId(0) >>> SectionAdapter.SECTION_ID_SHIFT);
+        assertEquals(1, firstFeedId >>> SectionAdapter.SECTION_ID_SHIFT);
+    }
+
+    @Test
+    public void stableIds_requireEverySection() {
+        SectionAdapter sectionAdapter = new SectionAdapter();
+        sectionAdapter.addSection(newKeyAdapter(2));
+        sectionAdapter.addSection(newAdapter(2));
+        assertFalse(sectionAdapter.hasStableIds());
+        assertEquals(RecyclerView.NO_ID, sectionAdapter.getItemId(0));
+
+        SectionAdapter stable = new SectionAdapter();
+        stable.addSection(newKeyAdapter(2));
+        stable.registerAdapterDataObserver(new RecordingObserver());
+        /*设置给RecyclerView后不能再关闭稳定id*/
+        try {
+            stable.addSection(newAdapter(2));
+            fail("section without stable ids");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(1, stable.getSectionCount());
+    }
+
+    private static RecyclerViewAdapter<Integer> newKeyAdapter(int count) {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFKeyAdapter<Integer>() {
+            @Override
+            public long getItemKey(Integer data) {
+                return data;
+            }
+
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        return adapter;
+    }
+
+    private static RecyclerViewAdapter<Integer> newAdapter(int count) {
+        RecyclerViewAdapter<Integer> adapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        adapter.addAll(list);
+        return adapter;
+    }
+}
@@ -0,0 +1,72 @@
+package com.cloudling.recyclerview;
+
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：排序模式按二分查找插入，排序变化只通知一次移动，批量插入合并成范围通知
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SortedModeTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        mAdapter.addAll(new ArrayList<>(Arrays.asList(50, 10, 40, 20, 30)));
+        mAdapter.setComparator(Integer::compare);
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void addSorted_findsSlot() {
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50), mAdapter.getData());
+        assertEquals(2, mAdapter.addSorted(25));
+        assertEquals(0, mAdapter.addSorted(5));
+        assertEquals(7, mAdapter.addSorted(60));
+        assertEquals(Arrays.asList("insert(2,1)", "insert(0,1)", "insert(7,1)"), mObserver.events);
+    }
+
+    @Test
+    public void bulkInsert_isMergedIntoRanges() {
+        mAdapter.addSorted(Arrays.asList(12, 11, 41, 42, 43, 1));
+        assertEquals(Arrays.asList(1, 10, 11, 12, 20, 30, 40, 41, 42, 43, 50), mAdapter.getData());
+        assertEquals(Arrays.asList("insert(0,1)", "insert(2,2)", "insert(7,3)"), mObserver.events);
+    }
+
+    @Test
+    public void keyChange_isSingleMove() {
+        assertEquals(3, mAdapter.updateSorted(0, 45));
+        assertEquals(Arrays.asList(20, 30, 40, 45, 50), mAdapter.getData());
+        assertEquals(Arrays.asList("move(0,3)", "change(3,1)"), mObserver.events);
+
+        mObserver.events.clear();
+        assertEquals(1, mAdapter.updateSorted(1, 31));
+        assertEquals(Collections.singletonList("change(1,1)"), mObserver.events);
+    }
+}
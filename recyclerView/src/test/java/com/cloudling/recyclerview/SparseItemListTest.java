@@ -0,0 +1,86 @@
+package com.cloudling.recyclerview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * 描述：SparseItemList随机增删改移（含null占位）后和ArrayList保持一致
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class SparseItemListTest {
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        SparseItemList<Integer> list = new SparseItemList<>();
+        List<Integer> reference = new ArrayList<>();
+        for (int round = 0; round < 20_000; round++) {
+            int size = reference.size();
+            int op = random.nextInt(8);
+            /*三分之一的数据是null*/
+            Integer item = random.nextInt(3) == 0 ? null : round;
+            if (op == 0 || size == 0) {
+                int index = random.nextInt(size + 1);
+                list.add(index, item);
+                reference.add(index, item);
+            } else if (op == 1) {
+                int index = random.nextInt(size);
+                assertEquals(reference.remove(index), list.remove(index));
+            } else if (op == 2) {
+                int index = random.nextInt(size);
+                assertEquals(reference.set(index, item), list.set(index, item));
+            } else if (op == 3) {
+                int from = random.nextInt(size);
+                int to = random.nextInt(size);
+                list.add(to, list.remove(from));
+                reference.add(to, reference.remove(from));
+            } else if (op == 4) {
+                int index = random.nextInt(size + 1);
+                List<Integer> items = Arrays.asList(round, null, round + 2);
+                list.addAll(index, items);
+                reference.addAll(index, items);
+            } else if (op == 5) {
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(4));
+                list.subList(from, to).clear();
+                reference.subList(from, to).clear();
+            } else if (op == 6) {
+                List<Integer> placeholders = Collections.nCopies(random.nextInt(20), null);
+                list.addAll(placeholders);
+                reference.addAll(placeholders);
+            } else {
+                list.add(item);
+                reference.add(item);
+            }
+            assertEquals(reference.size(), list.size());
+        }
+        assertEquals(reference, list);
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void placeholders_doNotNeedSlots() {
+        SparseItemList<Integer> list = new SparseItemList<>();
+        list.addAll(Collections.<Integer>nCopies(1_000_000, null));
+        list.set(500_000, 1);
+        list.add(0, 2);
+        assertEquals(1_000_001, list.size());
+        assertEquals(Integer.valueOf(2), list.get(0));
+        assertEquals(Integer.valueOf(1), list.get(500_001));
+        assertNull(list.get(500_000));
+
+        list.subList(0, 500_001).clear();
+        assertEquals(Integer.valueOf(1), list.get(0));
+        assertEquals(500_000, list.size());
+    }
+}
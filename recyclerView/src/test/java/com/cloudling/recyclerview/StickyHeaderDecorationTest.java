@@ -0,0 +1,136 @@
+package com.cloudling.recyclerview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 描述：吸顶分组头只在第一次出现时创建，滑动和绘制时复用缓存；数据变化时只读取变化附近的分组key
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StickyHeaderDecorationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int ITEM_HEIGHT = 100;
+    private static final int HEADER_HEIGHT = 50;
+    private static final int SECTION_SIZE = 10;
+    private static final int ITEM_COUNT = 100;
+
+    @Test
+    public void headersAreCreatedOncePerSection() {
+        final int[] creates = new int[1];
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.getApplication());
+        newDelegate(recyclerView, creates, new int[1]);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+        layout(recyclerView);
+
+        /*每组第一个item上方留出分组头的高度*/
+        assertEquals(HEADER_HEIGHT, recyclerView.getChildAt(0).getTop());
+        assertEquals(HEADER_HEIGHT + SECTION_SIZE * ITEM_HEIGHT + HEADER_HEIGHT, recyclerView.getChildAt(SECTION_SIZE).getTop());
+
+        int total = ITEM_COUNT * ITEM_HEIGHT + ITEM_COUNT / SECTION_SIZE * HEADER_HEIGHT;
+        for (int scrolled = 0; scrolled < total; scrolled += 37) {
+            recyclerView.scrollBy(0, 37);
+            recyclerView.draw(canvas);
+        }
+        assertEquals(ITEM_COUNT / SECTION_SIZE, creates[0]);
+
+        /*在同一组内来回滑动不再创建*/
+        for (int i = 0; i < 100; i++) {
+            recyclerView.scrollBy(0, i % 2 == 0 ? -3 : 3);
+            recyclerView.draw(canvas);
+        }
+        assertEquals(ITEM_COUNT / SECTION_SIZE, creates[0]);
+    }
+
+    @Test
+    public void dataChanges_onlyReadKeysNearTheChange() {
+        int[] keyReads = new int[1];
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.getApplication());
+        RecyclerViewDelegate<Integer> delegate = newDelegate(recyclerView, new int[1], keyReads);
+        layout(recyclerView);
+        assertEquals(ITEM_COUNT, keyReads[0]);
+
+        /*带payload的局部刷新不影响分组*/
+        keyReads[0] = 0;
+        delegate.batch(tx -> tx.update(5, 5, "payload"));
+        layout(recyclerView);
+        assertEquals(0, keyReads[0]);
+
+        /*插入一个新的分组：只读取插入的item和它后面的一个，后面的分组整体后移*/
+        delegate.add(1_000, SECTION_SIZE);
+        layout(recyclerView);
+        assertEquals(2, keyReads[0]);
+        assertEquals(HEADER_HEIGHT + SECTION_SIZE * ITEM_HEIGHT + HEADER_HEIGHT, recyclerView.getChildAt(SECTION_SIZE).getTop());
+        assertEquals(HEADER_HEIGHT, recyclerView.getChildAt(SECTION_SIZE + 1).getTop() - recyclerView.getChildAt(SECTION_SIZE).getBottom());
+
+        /*删除后只读取接上来的item*/
+        keyReads[0] = 0;
+        delegate.removeItem(SECTION_SIZE);
+        layout(recyclerView);
+        assertEquals(1, keyReads[0]);
+        assertEquals(HEADER_HEIGHT, recyclerView.getChildAt(SECTION_SIZE).getTop() - recyclerView.getChildAt(SECTION_SIZE - 1).getBottom());
+    }
+
+    /**
+     * 每组SECTION_SIZE个item的列表
+     *
+     * @param creates  创建分组头的次数
+     * @param keyReads 读取分组key的次数
+     */
+    private static RecyclerViewDelegate<Integer> newDelegate(RecyclerView recyclerView, final int[] creates, final int[] keyReads) {
+        RecyclerViewDelegate<Integer> delegate = new RecyclerViewDelegate<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                View view = new View(parent.getContext());
+                view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+                return new TestBinding(view);
+            }
+        }, recyclerView).initLinear().stickyHeader(new IFStickyHeader<Integer>() {
+            @Override
+            public Object getSectionKey(Integer data) {
+                keyReads[0]++;
+                return data / SECTION_SIZE;
+            }
+
+            @Override
+            public View createHeaderView(ViewGroup parent, Object sectionKey) {
+                creates[0]++;
+                View header = new View(parent.getContext());
+                header.setMinimumHeight(HEADER_HEIGHT);
+                return header;
+            }
+        }).build();
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            list.add(i);
+        }
+        delegate.addAll(list);
+        return delegate;
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+}
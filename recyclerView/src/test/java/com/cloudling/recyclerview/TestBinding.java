@@ -0,0 +1,40 @@
+package com.cloudling.recyclerview;
+
+import android.view.View;
+
+import androidx.databinding.ViewDataBinding;
+
+/**
+ * 描述：单元测试用的ViewDataBinding，只包装一个根视图
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class TestBinding extends ViewDataBinding {
+
+    public TestBinding(View root) {
+        super((Object) null, root, 0);
+    }
+
+    @Override
+    public boolean setVariable(int variableId, Object value) {
+        return false;
+    }
+
+    @Override
+    protected void executeBindings() {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+
+    @Override
+    public boolean hasPendingBindings() {
+        return false;
+    }
+
+    @Override
+    protected boolean onFieldChange(int localFieldId, Object object, int fieldId) {
+        return false;
+    }
+}
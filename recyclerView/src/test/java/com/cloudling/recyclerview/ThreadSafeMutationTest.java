@@ -0,0 +1,112 @@
+package com.cloudling.recyclerview;
+
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.databinding.ViewDataBinding;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 描述：非主线程调用增删改方法时在主线程的下一帧合并执行，主线程调用（包括submitList等整体替换）前先执行队列中的操作
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ThreadSafeMutationTest {
+    private RecyclerViewAdapter<Integer> mAdapter;
+    private RecordingObserver mObserver;
+
+    @Before
+    public void setUp() {
+        mAdapter = new RecyclerViewAdapter<>(new IFAdapter<Integer>() {
+            @Override
+            public void updateView(Integer data, ViewDataBinding binding, int position, int type) {
+            }
+
+            @Override
+            public ViewDataBinding createView(ViewGroup parent, int type) {
+                return null;
+            }
+        });
+        mObserver = new RecordingObserver();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    public void backgroundAdds_areMergedIntoOneFrame() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int base = t * 1000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    mAdapter.add(base + i, Integer.MAX_VALUE);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mAdapter.getItemCount());
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+
+        assertEquals(1000, mAdapter.getItemCount());
+        assertEquals(Collections.singletonList("insert(0,1000)"), mObserver.events);
+    }
+
+    @Test
+    public void mainThreadCall_flushesQueuedOpsFirst() throws Exception {
+        Thread thread = new Thread(() -> {
+            mAdapter.add(new ArrayList<>(Arrays.asList(1, 2)));
+            mAdapter.remove(0);
+        });
+        thread.start();
+        thread.join();
+
+        mAdapter.add(3, Integer.MAX_VALUE);
+
+        assertEquals(Arrays.asList(2, 3), mAdapter.getData());
+        assertEquals(Arrays.asList("insert(0,1)", "insert(1,1)"), mObserver.events);
+    }
+
+    @Test
+    public void submitList_flushesQueuedOpsFirst() throws Exception {
+        mAdapter.setDiffExecutor(Runnable::run);
+        mAdapter.setDiffCallback(new IFDiffCallback<Integer>() {
+            @Override
+            public boolean areItemsTheSame(Integer oldItem, Integer newItem) {
+                return oldItem.equals(newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(Integer oldItem, Integer newItem) {
+                return oldItem.equals(newItem);
+            }
+        });
+        Thread thread = new Thread(() -> mAdapter.add(new ArrayList<>(Arrays.asList(1, 2))));
+        thread.start();
+        thread.join();
+
+        /*先执行队列中的添加，再和[1, 2]比对；否则下一帧的添加会追加到提交的数据后面*/
+        mAdapter.submitList(Arrays.asList(2, 3));
+        assertEquals("insert(0,2)", mObserver.events.get(0));
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+
+        assertEquals(Arrays.asList(2, 3), mAdapter.getData());
+    }
+}
@@ -0,0 +1,191 @@
+package com.cloudling.recyclerview;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 描述：把合并后的通知回放到旧数据上，结果必须和直接修改后的数据一致
+ * 联系: 1966353889@qq.com
+ * 日期: 2026/10/18
+ */
+public class UpdateOpMergerTest {
+
+    @Test
+    public void adjacentInserts_mergeIntoOneRange() {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        merger.onInserted(5, 1);
+        merger.onInserted(6, 2);
+        merger.onInserted(5, 1);
+        assertEquals(Arrays.asList("insert(5,4)"), dispatch(merger));
+    }
+
+    @Test
+    public void insertThenRemove_cancels() {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        merger.onInserted(3, 2);
+        merger.onRemoved(3, 2);
+        assertEquals(0, merger.size());
+    }
+
+    @Test
+    public void removeCoveringInsert_keepsOnlyOriginalItems() {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        merger.onRemoved(2, 1);
+        merger.onInserted(4, 2);
+        merger.onRemoved(2, 5);
+        /*插入的2个抵消，剩下的3个和之前的删除合并*/
+        assertEquals(Arrays.asList("remove(2,4)"), dispatch(merger));
+    }
+
+    @Test
+    public void removesAtSamePosition_merge() {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        merger.onRemoved(10, 1);
+        merger.onRemoved(10, 1);
+        merger.onRemoved(8, 2);
+        assertEquals(Arrays.asList("remove(8,4)"), dispatch(merger));
+    }
+
+    @Test
+    public void changeInsideInsert_isDropped() {
+        UpdateOpMerger merger = new UpdateOpMerger();
+        merger.onInserted(0, 3);
+        merger.onChanged(1, 1, null);
+        assertEquals(Arrays.asList("insert(0,3)"), dispatch(merger));
+    }
+
+    @Test
+    public void randomOps_matchReferenceModel() {
+        Random random = new Random(20261018L);
+        for (int round = 0; round < 2_000; round++) {
+            List<Integer> old = new ArrayList<>();
+            int size = random.nextInt(20);
+            for (int i = 0; i < size; i++) {
+                old.add(i);
+            }
+            List<Integer> current = new ArrayList<>(old);
+            UpdateOpMerger merger = new UpdateOpMerger();
+            Set<Integer> changed = new HashSet<>();
+            int nextId = 1_000;
+            int rawCount = random.nextInt(12);
+            for (int k = 0; k < rawCount; k++) {
+                int op = random.nextInt(4);
+                if (op == 0 || current.isEmpty()) {
+                    int position = random.nextInt(current.size() + 1);
+                    int count = 1 + random.nextInt(3);
+                    for (int i = 0; i < count; i++) {
+                        current.add(position + i, nextId++);
+                    }
+                    merger.onInserted(position, count);
+                } else if (op == 1) {
+                    int position = random.nextInt(current.size());
+                    int count = 1 + random.nextInt(Math.min(3, current.size() - position));
+                    current.subList(position, position + count).clear();
+                    merger.onRemoved(position, count);
+                } else if (op == 2) {
+                    int from = random.nextInt(current.size());
+                    int to = random.nextInt(current.size());
+                    current.add(to, current.remove(from));
+                    merger.onMoved(from, to);
+                } else {
+                    int position = random.nextInt(current.size());
+                    changed.add(current.get(position));
+                    merger.onChanged(position, 1, null);
+                }
+            }
+            assertTrue(merger.size() <= rawCount);
+
+            ReplayCallback replay = new ReplayCallback(old);
+            merger.dispatchTo(replay);
+            List<Integer> expected = new ArrayList<>();
+            for (Integer id : current) {
+                /*新插入的item回放后是占位的null*/
+                expected.add(id < 1_000 ? id : null);
+            }
+            assertEquals("round " + round, expected, replay.list);
+            for (Integer id : changed) {
+                if (id < 1_000 && current.contains(id)) {
+                    assertTrue("round " + round + " lost change of " + id, replay.changed.contains(id));
+                }
+            }
+        }
+    }
+
+    private static List<String> dispatch(UpdateOpMerger merger) {
+        final List<String> events = new ArrayList<>();
+        merger.dispatchTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                events.add("insert(" + position + "," + count + ")");
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                events.add("remove(" + position + "," + count + ")");
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                events.add("move(" + fromPosition + "," + toPosition + ")");
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                events.add("change(" + position + "," + count + ")");
+            }
+        });
+        return events;
+    }
+
+    /**
+     * 参考模型：把通知依次作用在旧数据上
+     */
+    private static class ReplayCallback implements ListUpdateCallback {
+        final List<Integer> list;
+        final Set<Integer> changed = new HashSet<>();
+
+        ReplayCallback(List<Integer> old) {
+            this.list = new ArrayList<>(old);
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            assertTrue(position >= 0 && position <= list.size());
+            for (int i = 0; i < count; i++) {
+                list.add(position, null);
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            assertTrue(position >= 0 && position + count <= list.size());
+            list.subList(position, position + count).clear();
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            list.add(toPosition, list.remove(fromPosition));
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            assertTrue(position >= 0 && position + count <= list.size());
+            for (int i = position; i < position + count; i++) {
+                if (list.get(i) != null) {
+                    changed.add(list.get(i));
+                }
+            }
+        }
+    }
+}